@@ -0,0 +1,279 @@
+package dev.architectury.loom.forge;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.tukaani.xz.LZMAInputStream;
+
+import net.fabricmc.loom.util.Checksum;
+
+/**
+ * Applies Forge binary patches in process, producing the same output as Forge's binarypatcher {@code --apply} mode.
+ *
+ * <p>The LZMA compressed patch archive is decoded once and cached by its hash, the patches are then applied in parallel
+ * while reading and writing the clean and output jars in a single pass.
+ */
+public final class BinaryPatcher {
+	// The fixed time binarypatcher uses for all output entries
+	private static final long ZIP_TIME = 628041600000L;
+	private static final String PATCH_EXTENSION = ".binpatch";
+
+	private final Map<String, List<Patch>> patches;
+
+	private BinaryPatcher(Map<String, List<Patch>> patches) {
+		this.patches = patches;
+	}
+
+	/**
+	 * The binarypatcher arguments supported by this implementation.
+	 *
+	 * @param keepData whether to copy the non class entries of the clean jar
+	 * @param includeUnpatched whether to copy the classes of the clean jar without any patches
+	 */
+	public record Options(boolean keepData, boolean includeUnpatched) {
+		/**
+		 * Parses the binarypatcher arguments, returns null when the arguments use a mode or option that is not supported.
+		 */
+		@Nullable
+		public static Options parse(List<String> args) {
+			boolean keepData = false;
+			boolean includeUnpatched = false;
+
+			for (int i = 0; i < args.size(); i++) {
+				switch (args.get(i)) {
+				case "--clean", "--output", "--apply" -> i++;
+				case "--data" -> keepData = true;
+				case "--unpatched" -> includeUnpatched = true;
+				default -> {
+					return null;
+				}
+				}
+			}
+
+			return new Options(keepData, includeUnpatched);
+		}
+	}
+
+	public static BinaryPatcher load(Path patchArchive, Path cacheDir) throws IOException {
+		final Map<String, List<Patch>> patches = new HashMap<>();
+
+		try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(Files.newInputStream(decode(patchArchive, cacheDir))))) {
+			ZipEntry entry;
+
+			while ((entry = zis.getNextEntry()) != null) {
+				if (entry.isDirectory() || !entry.getName().endsWith(PATCH_EXTENSION)) {
+					continue;
+				}
+
+				final Patch patch = Patch.read(zis);
+				patches.computeIfAbsent(patch.obf(), k -> new ArrayList<>()).add(patch);
+			}
+		}
+
+		return new BinaryPatcher(patches);
+	}
+
+	// Returns the decoded patch jar, LZMA decoding is slow so the result is cached by the hash of the archive.
+	private static Path decode(Path patchArchive, Path cacheDir) throws IOException {
+		try (InputStream is = Files.newInputStream(patchArchive)) {
+			final byte[] header = is.readNBytes(2);
+
+			if (header.length == 2 && header[0] == 'P' && header[1] == 'K') {
+				// Already a jar
+				return patchArchive;
+			}
+		}
+
+		final Path decoded = cacheDir.resolve(Checksum.sha1Hex(patchArchive) + ".jar");
+
+		if (Files.exists(decoded)) {
+			return decoded;
+		}
+
+		Files.createDirectories(cacheDir);
+		final Path tempDecoded = cacheDir.resolve(decoded.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+		try (InputStream is = new LZMAInputStream(new BufferedInputStream(Files.newInputStream(patchArchive)))) {
+			Files.copy(is, tempDecoded);
+			Files.move(tempDecoded, decoded, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempDecoded);
+		}
+
+		return decoded;
+	}
+
+	public void apply(Path clean, Path output, Options options) throws IOException {
+		final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+		try (ZipFile cleanZip = new ZipFile(clean.toFile());
+				ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(output))) {
+			final List<? extends ZipEntry> entries = Collections.list(cleanZip.entries());
+			final Map<String, CompletableFuture<byte[]>> patched = new HashMap<>();
+
+			// Start patching all of the classes first, the output is written in order of the clean jar below.
+			for (ZipEntry entry : entries) {
+				final String className = getClassName(entry);
+
+				if (className != null && patches.containsKey(className)) {
+					patched.put(entry.getName(), CompletableFuture.supplyAsync(() -> {
+						try (InputStream is = cleanZip.getInputStream(entry)) {
+							return applyPatches(className, is.readAllBytes());
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					}, executor));
+				}
+			}
+
+			for (ZipEntry entry : entries) {
+				final String className = getClassName(entry);
+
+				if (className == null) {
+					if (options.keepData()) {
+						try (InputStream is = cleanZip.getInputStream(entry)) {
+							write(zos, entry.getName(), is.readAllBytes());
+						}
+					}
+
+					continue;
+				}
+
+				final CompletableFuture<byte[]> future = patched.get(entry.getName());
+
+				if (future != null) {
+					final byte[] data = join(future);
+
+					// A patch may remove a class
+					if (data.length != 0) {
+						write(zos, entry.getName(), data);
+					}
+				} else if (options.includeUnpatched()) {
+					try (InputStream is = cleanZip.getInputStream(entry)) {
+						write(zos, entry.getName(), is.readAllBytes());
+					}
+				}
+			}
+
+			// Classes that are added by the patches
+			final Map<String, List<Patch>> added = new TreeMap<>(patches);
+			for (ZipEntry entry : entries) {
+				final String className = getClassName(entry);
+
+				if (className != null) {
+					added.remove(className);
+				}
+			}
+
+			for (String className : added.keySet()) {
+				final byte[] data = applyPatches(className, new byte[0]);
+
+				if (data.length != 0) {
+					write(zos, className + ".class", data);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private byte[] applyPatches(String className, byte[] data) throws IOException {
+		for (Patch patch : patches.get(className)) {
+			data = patch.apply(data);
+		}
+
+		return data;
+	}
+
+	@Nullable
+	private static String getClassName(ZipEntry entry) {
+		final String name = entry.getName();
+
+		if (entry.isDirectory() || !name.endsWith(".class")) {
+			return null;
+		}
+
+		return name.substring(0, name.length() - ".class".length());
+	}
+
+	private static byte[] join(CompletableFuture<byte[]> future) throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+				throw uncheckedIOException.getCause();
+			}
+
+			throw e;
+		}
+	}
+
+	private static void write(ZipOutputStream zos, String name, byte[] data) throws IOException {
+		final ZipEntry entry = new ZipEntry(name);
+		entry.setTime(ZIP_TIME);
+		zos.putNextEntry(entry);
+		zos.write(data);
+		zos.closeEntry();
+	}
+
+	record Patch(String obf, String srg, boolean exists, int checksum, byte[] data) {
+		static Patch read(InputStream is) throws IOException {
+			// Not closed, this would close the zip stream
+			final DataInputStream input = new DataInputStream(is);
+			final int version = input.readUnsignedByte();
+
+			if (version != 1) {
+				throw new IOException("Unsupported binary patch version: " + version);
+			}
+
+			final String obf = input.readUTF().replace('.', '/');
+			final String srg = input.readUTF().replace('.', '/');
+			final boolean exists = input.readBoolean();
+			final int checksum = exists ? input.readInt() : 0;
+			final byte[] data = new byte[input.readInt()];
+			input.readFully(data);
+			return new Patch(obf, srg, exists, checksum, data);
+		}
+
+		byte[] apply(byte[] input) throws IOException {
+			if (!exists && input.length != 0) {
+				throw new IOException("Patch for %s expected the class to not exist".formatted(obf));
+			}
+
+			if (exists && checksum(input) != checksum) {
+				throw new IOException("Patch for %s expected a checksum of %08x but got %08x".formatted(obf, checksum, checksum(input)));
+			}
+
+			return GDiffPatcher.patch(input, data);
+		}
+
+		private static int checksum(byte[] data) {
+			final Adler32 adler32 = new Adler32();
+			adler32.update(data);
+			return (int) adler32.getValue();
+		}
+	}
+}
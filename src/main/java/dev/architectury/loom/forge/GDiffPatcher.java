@@ -0,0 +1,78 @@
+package dev.architectury.loom.forge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Applies patches in the <a href="https://www.w3.org/TR/NOTE-gdiff-19970901">GDIFF</a> format, as used by Forge's binary patches.
+ */
+final class GDiffPatcher {
+	private static final int MAGIC = 0xD1FFD1FF;
+	private static final int VERSION = 4;
+
+	private static final int EOF = 0;
+	private static final int DATA_MAX = 246;
+	private static final int DATA_USHORT = 247;
+	private static final int DATA_INT = 248;
+	private static final int COPY_USHORT_UBYTE = 249;
+	private static final int COPY_USHORT_USHORT = 250;
+	private static final int COPY_USHORT_INT = 251;
+	private static final int COPY_INT_UBYTE = 252;
+	private static final int COPY_INT_USHORT = 253;
+	private static final int COPY_INT_INT = 254;
+	private static final int COPY_LONG_INT = 255;
+
+	private GDiffPatcher() {
+	}
+
+	static byte[] patch(byte[] source, byte[] patch) throws IOException {
+		final DataInputStream input = new DataInputStream(new ByteArrayInputStream(patch));
+		final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(source.length, 32));
+
+		if (input.readInt() != MAGIC || input.readUnsignedByte() != VERSION) {
+			throw new IOException("Invalid GDIFF header");
+		}
+
+		while (true) {
+			final int command = input.readUnsignedByte();
+
+			if (command == EOF) {
+				return output.toByteArray();
+			}
+
+			if (command <= DATA_MAX) {
+				append(input, output, command);
+				continue;
+			}
+
+			switch (command) {
+			case DATA_USHORT -> append(input, output, input.readUnsignedShort());
+			case DATA_INT -> append(input, output, input.readInt());
+			case COPY_USHORT_UBYTE -> copy(source, output, input.readUnsignedShort(), input.readUnsignedByte());
+			case COPY_USHORT_USHORT -> copy(source, output, input.readUnsignedShort(), input.readUnsignedShort());
+			case COPY_USHORT_INT -> copy(source, output, input.readUnsignedShort(), input.readInt());
+			case COPY_INT_UBYTE -> copy(source, output, input.readInt(), input.readUnsignedByte());
+			case COPY_INT_USHORT -> copy(source, output, input.readInt(), input.readUnsignedShort());
+			case COPY_INT_INT -> copy(source, output, input.readInt(), input.readInt());
+			case COPY_LONG_INT -> copy(source, output, input.readLong(), input.readInt());
+			default -> throw new IOException("Unknown GDIFF command: " + command);
+			}
+		}
+	}
+
+	private static void append(DataInputStream input, ByteArrayOutputStream output, int length) throws IOException {
+		final byte[] data = new byte[length];
+		input.readFully(data);
+		output.write(data);
+	}
+
+	private static void copy(byte[] source, ByteArrayOutputStream output, long offset, int length) throws IOException {
+		if (offset < 0 || length < 0 || offset + length > source.length) {
+			throw new IOException("GDIFF copy out of bounds: offset %d, length %d, source length %d".formatted(offset, length, source.length));
+		}
+
+		output.write(source, (int) offset, length);
+	}
+}
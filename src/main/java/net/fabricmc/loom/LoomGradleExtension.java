@@ -30,12 +30,14 @@ import java.util.List;
 
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.provider.ListProperty;
 import org.jetbrains.annotations.ApiStatus;
 
 import net.fabricmc.loom.api.LoomGradleExtensionAPI;
+import net.fabricmc.loom.api.RemapConfigurationSettings;
 import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
 import net.fabricmc.loom.configuration.InstallerData;
 import net.fabricmc.loom.configuration.LoomDependencyManager;
@@ -135,6 +137,12 @@ public interface LoomGradleExtension extends LoomGradleExtensionAPI {
 
 	void addTransitiveAccessWideners(List<AccessWidenerFile> accessWidenerFiles);
 
+	/**
+	 * Returns a copy of the remap configuration's source configuration that only resolves the api or runtime variants.
+	 * The copy is shared so that it is only resolved once for both the processor specs and the mod remapping.
+	 */
+	Configuration getRemapSourceUsageCopy(RemapConfigurationSettings settings, boolean runtime);
+
 	DownloadBuilder download(String url);
 
 	boolean refreshDeps();
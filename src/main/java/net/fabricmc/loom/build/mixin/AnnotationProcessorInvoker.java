@@ -40,16 +40,21 @@ import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.TaskProvider;
 
 import net.fabricmc.loom.LoomGradleExtension;
+import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
 import net.fabricmc.loom.build.IntermediaryNamespaces;
 import net.fabricmc.loom.configuration.ide.idea.IdeaUtils;
 import net.fabricmc.loom.configuration.providers.minecraft.MinecraftSourceSets;
 import net.fabricmc.loom.extension.MixinExtension;
+import net.fabricmc.loom.task.FilterMixinMappingsTask;
 import net.fabricmc.loom.task.PrepareJarRemapTask;
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.loom.util.LoomVersions;
+import net.fabricmc.loom.util.gradle.GradleUtils;
 
 /**
  * Normally javac invokes annotation processors, but when the scala or kapt plugin are installed they will want to invoke
@@ -102,11 +107,23 @@ public abstract class AnnotationProcessorInvoker<T extends Task> {
 			Path mappings = loom.getMappingConfiguration().getReplacedTarget(loom, loom.getMixin().getRefmapTargetNamespace().get());
 
 			final File mixinMappings = getMixinMappingsForSourceSet(project, sourceSet);
+			final File inMappings;
+
+			if (GradleUtils.getBooleanProperty(project, Constants.Properties.DISABLE_MIXIN_MAPPINGS_FILTER)) {
+				inMappings = mappings.toFile();
+			} else {
+				// Only pass the mappings that the mixins in this source set can refer to, so the annotation processor has less to load.
+				inMappings = new File(loom.getFiles().getProjectBuildCache(), "mixin-in-map-" + loom.getMappingConfiguration().mappingsIdentifier() + "." + sourceSet.getName() + ".tiny");
+				final TaskProvider<FilterMixinMappingsTask> filterTask = getFilterMixinMappingsTask(sourceSet, mappings, inMappings);
+				task.getInputs().file(filterTask.flatMap(FilterMixinMappingsTask::getOutputFile))
+						.withPropertyName("mixin-in-map-" + sourceSet.getName())
+						.withPathSensitivity(PathSensitivity.NONE);
+			}
 
 			task.getOutputs().file(mixinMappings).withPropertyName("mixin-ap-" + sourceSet.getName()).optional();
 
 			Map<String, String> args = new HashMap<>() {{
-					put(Constants.MixinArguments.IN_MAP_FILE_NAMED_INTERMEDIARY, mappings.toFile().getCanonicalPath());
+					put(Constants.MixinArguments.IN_MAP_FILE_NAMED_INTERMEDIARY, inMappings.getCanonicalPath());
 					put(Constants.MixinArguments.OUT_MAP_FILE_NAMED_INTERMEDIARY, mixinMappings.getCanonicalPath());
 					put(Constants.MixinArguments.OUT_REFMAP_FILE, getRefmapDestination(task, refmapName));
 					put(Constants.MixinArguments.DEFAULT_OBFUSCATION_ENV, "named:" + IntermediaryNamespaces.replaceMixinIntermediaryNamespace(project, loom.getMixin().getRefmapTargetNamespace().get()));
@@ -166,6 +183,23 @@ public abstract class AnnotationProcessorInvoker<T extends Task> {
 		});
 	}
 
+	// Several invokers can compile the same source set, such as javac and kapt, they share a single filter task.
+	private TaskProvider<FilterMixinMappingsTask> getFilterMixinMappingsTask(SourceSet sourceSet, Path mappings, File output) {
+		final String taskName = sourceSet.getTaskName("filter", "MixinMappings");
+
+		if (project.getTasks().getNames().contains(taskName)) {
+			return project.getTasks().named(taskName, FilterMixinMappingsTask.class);
+		}
+
+		return project.getTasks().register(taskName, FilterMixinMappingsTask.class, task -> {
+			task.setDescription("Filters the mixin annotation processor mappings of the %s source set.".formatted(sourceSet.getName()));
+			task.getMappings().set(mappings.toFile());
+			task.getSources().from(sourceSet.getAllSource());
+			task.getMinecraftJars().from(project.provider(() -> loomExtension.getMinecraftJars(MappingsNamespace.NAMED)));
+			task.getOutputFile().set(output);
+		});
+	}
+
 	private static void checkPattern(String input, Pattern pattern) {
 		final Matcher matcher = pattern.matcher(input);
 
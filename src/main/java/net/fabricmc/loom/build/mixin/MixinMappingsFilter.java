@@ -0,0 +1,262 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.build.mixin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.VisibleForTesting;
+import org.objectweb.asm.ClassReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
+import net.fabricmc.loom.util.FileSystemUtil;
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.adapter.ForwardingMappingVisitor;
+import net.fabricmc.mappingio.format.tiny.Tiny2FileWriter;
+import net.fabricmc.mappingio.tree.MappingTree;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+/**
+ * Writes a reduced copy of the mixin annotation processor input mappings, only containing the classes that the mixins of a source set can refer to.
+ *
+ * <p>A class is kept when its name is found in a mixin source file, along with its outer classes, its super types and the classes used in the descriptors of its members.
+ * All of the members of a kept class are kept. When anything goes wrong the full mappings are used instead.
+ */
+public final class MixinMappingsFilter {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MixinMappingsFilter.class);
+	private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+	private static final Pattern DESCRIPTOR_CLASS_PATTERN = Pattern.compile("L([^;]+);");
+	private static final String MIXIN_PACKAGE = "org.spongepowered.asm.mixin";
+	// Also matches "@ Mixin" and qualified names split over whitespace
+	private static final Pattern MIXIN_ANNOTATION_PATTERN = Pattern.compile("@\\s*(?:\\w+\\s*\\.\\s*)*Mixin\\b");
+	private static final Set<String> SOURCE_EXTENSIONS = Set.of(".java", ".kt", ".scala", ".groovy");
+
+	private MixinMappingsFilter() {
+	}
+
+	/**
+	 * Writes the filtered mappings to the output path, the full mappings are copied when filtering fails.
+	 */
+	public static void write(Path mappings, Collection<File> sources, List<Path> minecraftJars, Path output) {
+		try {
+			filter(mappings, collectNames(sources), readHierarchy(minecraftJars), output);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Failed to filter the mixin mappings, using the full mappings", e);
+
+			try {
+				Files.copy(mappings, output, StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException ex) {
+				throw new UncheckedIOException("Failed to copy mixin mappings", ex);
+			}
+		}
+	}
+
+	// The identifiers found in all of the source files that contain a mixin.
+	@VisibleForTesting
+	public static Set<String> collectNames(Collection<File> sources) throws IOException {
+		final Set<String> names = new TreeSet<>();
+
+		for (File source : sources) {
+			final String fileName = source.getName();
+
+			if (SOURCE_EXTENSIONS.stream().noneMatch(fileName::endsWith)) {
+				continue;
+			}
+
+			final String content = Files.readString(source.toPath());
+
+			if (!isMixinSource(content)) {
+				continue;
+			}
+
+			final Matcher matcher = IDENTIFIER_PATTERN.matcher(content);
+
+			while (matcher.find()) {
+				final String identifier = matcher.group();
+				names.add(identifier);
+
+				if (identifier.indexOf('$') > 0) {
+					names.addAll(List.of(identifier.split("\\$")));
+				}
+			}
+		}
+
+		return names;
+	}
+
+	/**
+	 * Whether the source may contain a mixin. This errs on the side of including a file, a missed mixin would lose its targets from the refmap.
+	 * A mixin must either import the annotation, possibly with an alias or wildcard, or use its fully qualified name, both contain the package name.
+	 */
+	@VisibleForTesting
+	public static boolean isMixinSource(String content) {
+		return content.contains(MIXIN_PACKAGE) || MIXIN_ANNOTATION_PATTERN.matcher(content).find();
+	}
+
+	// Super class and interfaces of every class in the named minecraft jars.
+	private static Map<String, List<String>> readHierarchy(List<Path> minecraftJars) throws IOException {
+		final Map<String, List<String>> hierarchy = new HashMap<>();
+
+		for (Path jar : minecraftJars) {
+			try (FileSystemUtil.Delegate fs = FileSystemUtil.getJarFileSystem(jar, false);
+					Stream<Path> walk = Files.walk(fs.getRoot())) {
+				for (Path path : (Iterable<Path>) walk::iterator) {
+					if (!path.toString().endsWith(".class")) {
+						continue;
+					}
+
+					try (InputStream is = Files.newInputStream(path)) {
+						final ClassReader reader = new ClassReader(is);
+						final List<String> supers = new ArrayList<>(List.of(reader.getInterfaces()));
+
+						if (reader.getSuperName() != null) {
+							supers.add(reader.getSuperName());
+						}
+
+						hierarchy.put(reader.getClassName(), supers);
+					}
+				}
+			}
+		}
+
+		return hierarchy;
+	}
+
+	@VisibleForTesting
+	public static void filter(Path mappings, Set<String> names, Map<String, List<String>> hierarchy, Path output) throws IOException {
+		final MemoryMappingTree tree = new MemoryMappingTree();
+		MappingReader.read(mappings, tree);
+
+		final int namedId = tree.getNamespaceId(MappingsNamespace.NAMED.toString());
+
+		if (namedId == MappingTree.NULL_NAMESPACE_ID) {
+			throw new IllegalStateException("Mixin mappings do not contain the named namespace");
+		}
+
+		final Set<String> kept = new HashSet<>();
+		final Set<String> descriptorClasses = new HashSet<>();
+		final Deque<String> queue = new ArrayDeque<>();
+
+		for (MappingTree.ClassMapping classMapping : tree.getClasses()) {
+			final String name = classMapping.getName(namedId);
+
+			if (name == null) {
+				continue;
+			}
+
+			final String simpleName = name.substring(name.lastIndexOf('/') + 1);
+
+			if (names.contains(simpleName) || names.contains(simpleName.substring(simpleName.lastIndexOf('$') + 1))) {
+				queue.add(name);
+			}
+		}
+
+		while (!queue.isEmpty()) {
+			final String name = queue.poll();
+
+			if (!kept.add(name)) {
+				continue;
+			}
+
+			final int innerIndex = name.lastIndexOf('$');
+
+			if (innerIndex > 0) {
+				queue.add(name.substring(0, innerIndex));
+			}
+
+			queue.addAll(hierarchy.getOrDefault(name, List.of()));
+
+			final MappingTree.ClassMapping classMapping = tree.getClass(name, namedId);
+
+			if (classMapping == null) {
+				continue;
+			}
+
+			// The annotation processor remaps the descriptors of the members it finds
+			for (MappingTree.MemberMapping member : Stream.concat(classMapping.getFields().stream(), classMapping.getMethods().stream()).toList()) {
+				final String desc = member.getDesc(namedId);
+
+				if (desc == null) {
+					continue;
+				}
+
+				final Matcher matcher = DESCRIPTOR_CLASS_PATTERN.matcher(desc);
+
+				while (matcher.find()) {
+					final String descClass = matcher.group(1);
+
+					// Only the class name is needed, no need to follow its hierarchy.
+					descriptorClasses.add(descClass);
+				}
+			}
+		}
+
+		kept.addAll(descriptorClasses);
+		final Set<String> keptSrcNames = new HashSet<>();
+
+		for (String name : kept) {
+			final MappingTree.ClassMapping classMapping = tree.getClass(name, namedId);
+
+			if (classMapping != null) {
+				keptSrcNames.add(classMapping.getSrcName());
+			}
+		}
+
+		final Path tempOutput = output.resolveSibling(output.getFileName() + ".tmp");
+
+		try (Writer writer = Files.newBufferedWriter(tempOutput, StandardCharsets.UTF_8)) {
+			tree.accept(new ForwardingMappingVisitor(new Tiny2FileWriter(writer, false)) {
+				@Override
+				public boolean visitClass(String srcName) throws IOException {
+					return keptSrcNames.contains(srcName) && super.visitClass(srcName);
+				}
+			});
+		}
+
+		Files.move(tempOutput, output, StandardCopyOption.REPLACE_EXISTING);
+	}
+}
@@ -37,6 +37,7 @@ import net.fabricmc.loom.configuration.providers.minecraft.mapped.MappedMinecraf
 import net.fabricmc.loom.task.GenerateSourcesTask;
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.loom.util.Strings;
+import net.fabricmc.loom.util.gradle.GradleUtils;
 
 public final class SplitDecompileConfiguration extends DecompileConfiguration<MappedMinecraftProvider.Split> {
 	public SplitDecompileConfiguration(Project project, MappedMinecraftProvider.Split minecraftProvider) {
@@ -52,29 +53,49 @@ public final class SplitDecompileConfiguration extends DecompileConfiguration<Ma
 	public void afterEvaluation() {
 		final MinecraftJar commonJar = minecraftProvider.getCommonJar();
 		final MinecraftJar clientOnlyJar = minecraftProvider.getClientOnlyJar();
+		final boolean combined = GradleUtils.getBooleanProperty(project, Constants.Properties.COMBINED_SPLIT_DECOMPILE);
+
+		if (combined) {
+			// Decompile both jars in one job, sharing the decompile workers, mappings and cache.
+			createDecompileTasks("Split", task -> {
+				task.getInputJarName().set(commonJar.getName());
+				task.getOutputJar().fileValue(GenerateSourcesTask.getJarFileWithSuffix("-sources.jar", commonJar.getPath()));
+				task.getAdditionalInputJarNames().add(clientOnlyJar.getName());
+				task.getAdditionalOutputJars().from(GenerateSourcesTask.getJarFileWithSuffix("-sources.jar", clientOnlyJar.getPath()));
+
+				if (mappingConfiguration.hasUnpickDefinitions()) {
+					File unpickJar = new File(extension.getMappingConfiguration().mappingsWorkingDir().toFile(), "minecraft-common-unpicked.jar");
+					configureUnpick(task, unpickJar);
+				}
+			});
 
-		final TaskProvider<Task> commonDecompileTask = createDecompileTasks("Common", task -> {
-			task.getInputJarName().set(commonJar.getName());
-			task.getOutputJar().fileValue(GenerateSourcesTask.getJarFileWithSuffix("-sources.jar", commonJar.getPath()));
-
-			if (mappingConfiguration.hasUnpickDefinitions()) {
-				File unpickJar = new File(extension.getMappingConfiguration().mappingsWorkingDir().toFile(), "minecraft-common-unpicked.jar");
-				configureUnpick(task, unpickJar);
-			}
-		});
+			// The per jar tasks would write the same outputs, keep their names (used by the IDE hooks) as aliases.
+			createAliasTasks("Common", "Split");
+			createAliasTasks("ClientOnly", "Split");
+		} else {
+			final TaskProvider<Task> commonDecompileTask = createDecompileTasks("Common", task -> {
+				task.getInputJarName().set(commonJar.getName());
+				task.getOutputJar().fileValue(GenerateSourcesTask.getJarFileWithSuffix("-sources.jar", commonJar.getPath()));
+
+				if (mappingConfiguration.hasUnpickDefinitions()) {
+					File unpickJar = new File(extension.getMappingConfiguration().mappingsWorkingDir().toFile(), "minecraft-common-unpicked.jar");
+					configureUnpick(task, unpickJar);
+				}
+			});
 
-		final TaskProvider<Task> clientOnlyDecompileTask = createDecompileTasks("ClientOnly", task -> {
-			task.getInputJarName().set(clientOnlyJar.getName());
-			task.getOutputJar().fileValue(GenerateSourcesTask.getJarFileWithSuffix("-sources.jar", clientOnlyJar.getPath()));
+			createDecompileTasks("ClientOnly", task -> {
+				task.getInputJarName().set(clientOnlyJar.getName());
+				task.getOutputJar().fileValue(GenerateSourcesTask.getJarFileWithSuffix("-sources.jar", clientOnlyJar.getPath()));
 
-			if (mappingConfiguration.hasUnpickDefinitions()) {
-				File unpickJar = new File(extension.getMappingConfiguration().mappingsWorkingDir().toFile(), "minecraft-clientonly-unpicked.jar");
-				configureUnpick(task, unpickJar);
-			}
+				if (mappingConfiguration.hasUnpickDefinitions()) {
+					File unpickJar = new File(extension.getMappingConfiguration().mappingsWorkingDir().toFile(), "minecraft-clientonly-unpicked.jar");
+					configureUnpick(task, unpickJar);
+				}
 
-			// Don't allow them to run at the same time.
-			task.mustRunAfter(commonDecompileTask);
-		});
+				// Don't allow them to run at the same time.
+				task.mustRunAfter(commonDecompileTask);
+			});
+		}
 
 		for (DecompilerOptions options : extension.getDecompilerOptions()) {
 			final String decompilerName = options.getFormattedName();
@@ -83,8 +104,12 @@ public final class SplitDecompileConfiguration extends DecompileConfiguration<Ma
 				task.setDescription("Decompile minecraft using %s.".formatted(decompilerName));
 				task.setGroup(Constants.TaskGroup.FABRIC);
 
-				task.dependsOn(project.getTasks().named("gen%sSourcesWith%s".formatted("Common", decompilerName)));
-				task.dependsOn(project.getTasks().named("gen%sSourcesWith%s".formatted("ClientOnly", decompilerName)));
+				if (combined) {
+					task.dependsOn(project.getTasks().named("gen%sSourcesWith%s".formatted("Split", decompilerName)));
+				} else {
+					task.dependsOn(project.getTasks().named("gen%sSourcesWith%s".formatted("Common", decompilerName)));
+					task.dependsOn(project.getTasks().named("gen%sSourcesWith%s".formatted("ClientOnly", decompilerName)));
+				}
 			});
 		}
 
@@ -92,8 +117,32 @@ public final class SplitDecompileConfiguration extends DecompileConfiguration<Ma
 			task.setDescription("Decompile minecraft using the default decompiler.");
 			task.setGroup(Constants.TaskGroup.FABRIC);
 
-			task.dependsOn(commonDecompileTask);
-			task.dependsOn(clientOnlyDecompileTask);
+			if (combined) {
+				task.dependsOn(project.getTasks().named("genSplitSources"));
+			} else {
+				task.dependsOn(project.getTasks().named("genCommonSources"));
+				task.dependsOn(project.getTasks().named("genClientOnlySources"));
+			}
+		});
+	}
+
+	private void createAliasTasks(String name, String targetName) {
+		extension.getDecompilerOptions().forEach(options -> {
+			final String decompilerName = options.getFormattedName();
+
+			project.getTasks().register("gen%sSourcesWith%s".formatted(name, decompilerName), task -> {
+				task.setDescription("Decompile minecraft using %s.".formatted(decompilerName));
+				task.setGroup(Constants.TaskGroup.FABRIC);
+
+				task.dependsOn(project.getTasks().named("gen%sSourcesWith%s".formatted(targetName, decompilerName)));
+			});
+		});
+
+		project.getTasks().register("gen%sSources".formatted(name), task -> {
+			task.setDescription("Decompile minecraft (%s) using the default decompiler.".formatted(name));
+			task.setGroup(Constants.TaskGroup.FABRIC);
+
+			task.dependsOn(project.getTasks().named("gen%sSources".formatted(targetName)));
 		});
 	}
 
@@ -27,14 +27,17 @@ package net.fabricmc.loom.configuration.mods;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import com.google.common.collect.ImmutableMap;
@@ -48,7 +51,6 @@ import org.gradle.api.artifacts.query.ArtifactResolutionQuery;
 import org.gradle.api.artifacts.result.ArtifactResult;
 import org.gradle.api.artifacts.result.ComponentArtifactsResult;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
-import org.gradle.api.attributes.Usage;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.tasks.SourceSet;
@@ -105,10 +107,8 @@ public class ModConfigurationRemapper {
 
 				final Configuration target = RemapConfigurations.getOrCreateCollectorConfiguration(project, entry, runtime);
 				// We copy the source with the desired usage type to get only the runtime or api jars, not both.
-				final Configuration sourceCopy = entry.getSourceConfiguration().get().copyRecursive();
-				final Usage usage = project.getObjects().named(Usage.class, runtime ? Usage.JAVA_RUNTIME : Usage.JAVA_API);
-				sourceCopy.attributes(attributes -> attributes.attribute(Usage.USAGE_ATTRIBUTE, usage));
-				sourceCopy.setCanBeConsumed(false);
+				// The copy is shared with the processor spec context, so it has likely already been resolved.
+				final Configuration sourceCopy = extension.getRemapSourceUsageCopy(entry, runtime);
 				configsToRemap.put(sourceCopy, target);
 
 				// If our remap configuration entry targets the client source set as well,
@@ -138,6 +138,9 @@ public class ModConfigurationRemapper {
 		// any mods are remapped since remapping needs the dependencies provided by that data.
 		final Map<Configuration, List<ModDependency>> dependenciesBySourceConfig = new HashMap<>();
 		final Map<ArtifactRef, ArtifactMetadata> metaCache = new HashMap<>();
+		final String remapEnvironmentKey = getRemapEnvironmentKey(extension, mappingsSuffix);
+		final Map<Path, String> cacheKeys = new HashMap<>();
+		final Set<String> scheduledSources = new HashSet<>();
 		configsToRemap.forEach((sourceConfig, remappedConfig) -> {
 			/*
 			sourceConfig - The source configuration where the intermediary named artifacts come from. i.e "modApi"
@@ -174,8 +177,13 @@ public class ModConfigurationRemapper {
 					continue;
 				}
 
-				final ModDependency modDependency = ModDependencyFactory.create(artifact, artifactMetadata, remappedConfig, clientRemappedConfig, mappingsSuffix, project);
-				scheduleSourcesRemapping(project, sourceRemapper, modDependency);
+				final String cacheKey = cacheKeys.computeIfAbsent(artifact.path(), path -> createCacheKey(remapEnvironmentKey, path));
+				final ModDependency modDependency = ModDependencyFactory.create(artifact, artifactMetadata, remappedConfig, clientRemappedConfig, mappingsSuffix, cacheKey, project);
+
+				if (scheduledSources.add(modDependency.getOutputIdentity())) {
+					scheduleSourcesRemapping(project, sourceRemapper, modDependency);
+				}
+
 				modDependencies.add(modDependency);
 			}
 
@@ -184,6 +192,8 @@ public class ModConfigurationRemapper {
 
 		// Round 2: Remapping
 		// Remap all discovered artifacts.
+		// The same artifact is often found in multiple configurations, only remap it the first time it is seen.
+		final Set<String> processedOutputs = new HashSet<>();
 		configsToRemap.forEach((sourceConfig, remappedConfig) -> {
 			final List<ModDependency> modDependencies = dependenciesBySourceConfig.get(sourceConfig);
 
@@ -194,9 +204,8 @@ public class ModConfigurationRemapper {
 
 			final Configuration clientRemappedConfig = clientConfigsToRemap.get(sourceConfig);
 			final boolean refreshDeps = LoomGradleExtension.get(project).refreshDeps();
-			// TODO: With the same artifacts being considered multiple times for their different
-			//   usage attributes, this should probably not process them multiple times even with refreshDeps.
 			final List<ModDependency> toRemap = modDependencies.stream()
+					.filter(dependency -> processedOutputs.add(dependency.getOutputIdentity()))
 					.filter(dependency -> refreshDeps || dependency.isCacheInvalid(project, null))
 					.toList();
 
@@ -220,6 +229,30 @@ public class ModConfigurationRemapper {
 		});
 	}
 
+	/**
+	 * Everything other than the mod itself that affects the remapped output.
+	 * Other mods on the remap classpath are deliberately not included, they only contribute inherited members so changing one should not invalidate every mod.
+	 */
+	private static String getRemapEnvironmentKey(LoomGradleExtension extension, String mappingsSuffix) {
+		final Path mappings = extension.getMappingConfiguration().tinyMappings;
+
+		try {
+			return "%s:%s:%s:%s".formatted(LoomGradlePlugin.LOOM_VERSION, extension.getPlatform().get().id(), mappingsSuffix, Checksum.sha1Hex(mappings));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to hash mappings " + mappings, e);
+		}
+	}
+
+	// Inputs are keyed by their location, size and modification time, this avoids having to hash every mod jar on each configuration.
+	private static String createCacheKey(String remapEnvironmentKey, Path input) {
+		try {
+			final String inputIdentity = "%s|%d|%d".formatted(input.toAbsolutePath(), Files.size(input), Files.getLastModifiedTime(input).toMillis());
+			return Checksum.sha1Hex((remapEnvironmentKey + ":" + inputIdentity).getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to create cache key for " + input, e);
+		}
+	}
+
 	private static void createConstraints(ArtifactRef artifact, Configuration targetConfig, Configuration sourceConfig, DependencyHandler dependencies) {
 		if (true) {
 			// Disabled due to the gradle module metadata causing issues. Try the MavenProject test to reproduce issue.
@@ -58,11 +58,13 @@ import net.fabricmc.loom.configuration.providers.mappings.MappingConfiguration;
 import net.fabricmc.loom.extension.RemapperExtensionHolder;
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.loom.util.LoggerFilter;
+import net.fabricmc.loom.util.MemoryBudget;
 import net.fabricmc.loom.util.ModPlatform;
 import net.fabricmc.loom.util.Pair;
 import net.fabricmc.loom.util.TinyRemapperHelper;
 import net.fabricmc.loom.util.ZipUtils;
 import net.fabricmc.loom.util.kotlin.KotlinClasspathService;
+import net.fabricmc.loom.util.kotlin.KotlinMetadataScanner;
 import net.fabricmc.loom.util.kotlin.KotlinRemapperClassloader;
 import net.fabricmc.loom.util.service.SharedServiceManager;
 import net.fabricmc.loom.util.srg.AtClassRemapper;
@@ -92,7 +94,11 @@ public class ModProcessor {
 	public void processMods(List<ModDependency> remapList) throws IOException {
 		try {
 			project.getLogger().lifecycle(":remapping {} mods from {}", remapList.size(), describeConfiguration(sourceConfiguration));
-			remapJars(remapList);
+			final long estimatedMemory = MemoryBudget.estimateJars(remapList.stream().map(ModDependency::getInputFile).toArray(Path[]::new));
+
+			try (var lease = MemoryBudget.get().acquire("Remap mods", estimatedMemory)) {
+				remapJars(remapList);
+			}
 		} catch (Exception e) {
 			throw new RuntimeException(String.format(Locale.ENGLISH, "Failed to remap %d mods", remapList.size()), e);
 		}
@@ -184,11 +190,10 @@ public class ModProcessor {
 				.extraAnalyzeVisitor(AccessWidenerAnalyzeVisitorProvider.createFromMods(fromM, remapList, extension.getPlatform().get()));
 
 		final KotlinClasspathService kotlinClasspathService = KotlinClasspathService.getOrCreateIfRequired(serviceManager, project);
-		KotlinRemapperClassloader kotlinRemapperClassloader = null;
 
-		if (kotlinClasspathService != null) {
-			kotlinRemapperClassloader = KotlinRemapperClassloader.create(kotlinClasspathService);
-			builder.extension(kotlinRemapperClassloader.getTinyRemapperExtension());
+		// Only pay for loading the kotlin remapper when a mod has kotlin classes with metadata to remap
+		if (kotlinClasspathService != null && hasKotlinClasses(remapList)) {
+			builder.extension(KotlinRemapperClassloader.getOrCreateShared(kotlinClasspathService).getTinyRemapperExtension());
 		}
 
 		final Set<InputTag> remapMixins = new HashSet<>();
@@ -269,10 +274,6 @@ public class ModProcessor {
 			}
 		} finally {
 			remapper.finish();
-
-			if (kotlinRemapperClassloader != null) {
-				kotlinRemapperClassloader.close();
-			}
 		}
 
 		project.getLogger().lifecycle(":remapped {} mods ({} -> {}) in {}", remapList.size(), fromM, toM, stopwatch.stop());
@@ -306,6 +307,16 @@ public class ModProcessor {
 		}
 	}
 
+	private static boolean hasKotlinClasses(List<ModDependency> remapList) throws IOException {
+		for (ModDependency dependency : remapList) {
+			if (KotlinMetadataScanner.containsKotlinClasses(dependency.getInputFile())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	private static Path getRemappedOutput(ModDependency dependency) {
 		return dependency.getWorkingFile(null);
 	}
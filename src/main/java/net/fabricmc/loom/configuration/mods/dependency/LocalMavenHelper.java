@@ -34,7 +34,11 @@ import java.nio.file.StandardCopyOption;
 
 import org.jetbrains.annotations.Nullable;
 
+import net.fabricmc.loom.util.AttributeHelper;
+
 public record LocalMavenHelper(String group, String name, String version, @Nullable String baseClassifier, Path root) {
+	private static final String CACHE_KEY_ATTRIBUTE = "LoomCacheKey";
+
 	public Path copyToMaven(Path artifact, @Nullable String classifier) throws IOException {
 		if (!artifact.getFileName().toString().endsWith(".jar")) {
 			throw new UnsupportedOperationException();
@@ -45,10 +49,36 @@ public record LocalMavenHelper(String group, String name, String version, @Nulla
 		return Files.copy(artifact, getOutputFile(classifier), StandardCopyOption.REPLACE_EXISTING);
 	}
 
+	/**
+	 * Copies the artifact to the maven, storing the cache key used to create it alongside.
+	 */
+	public Path copyToMaven(Path artifact, @Nullable String classifier, String cacheKey) throws IOException {
+		final Path output = copyToMaven(artifact, classifier);
+		AttributeHelper.writeAttribute(output, CACHE_KEY_ATTRIBUTE, cacheKey);
+		return output;
+	}
+
 	public boolean exists(String classifier) {
 		return Files.exists(getOutputFile(classifier)) && Files.exists(getPomPath());
 	}
 
+	/**
+	 * Returns true when the artifact exists and was created with the given cache key.
+	 */
+	public boolean exists(@Nullable String classifier, String cacheKey) {
+		if (!exists(classifier)) {
+			return false;
+		}
+
+		try {
+			return AttributeHelper.readAttribute(getOutputFile(classifier), CACHE_KEY_ATTRIBUTE)
+					.map(cacheKey::equals)
+					.orElse(false);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
 	public String getNotation() {
 		if (baseClassifier != null) {
 			return String.format("%s:%s:%s:%s", group, name, version, baseClassifier);
@@ -43,11 +43,14 @@ public abstract sealed class ModDependency permits SplitModDependency, SimpleMod
 	@Nullable
 	protected final String classifier;
 	protected final String mappingsSuffix;
+	// A hash of the input jar and the remapping environment, used to detect when a cached remapped jar is outdated.
+	protected final String cacheKey;
 	protected final Project project;
 
-	public ModDependency(ArtifactRef artifact, ArtifactMetadata metadata, String mappingsSuffix, Project project) {
+	public ModDependency(ArtifactRef artifact, ArtifactMetadata metadata, String mappingsSuffix, String cacheKey, Project project) {
 		this.artifact = artifact;
 		this.metadata = metadata;
+		this.cacheKey = cacheKey;
 		this.group = artifact.group();
 		this.name = artifact.name();
 		this.version = artifact.version();
@@ -85,6 +88,13 @@ public abstract sealed class ModDependency permits SplitModDependency, SimpleMod
 		return metadata;
 	}
 
+	/**
+	 * Identifies the remapped output of this dependency, the same artifact is often requested by multiple configurations.
+	 */
+	public String getOutputIdentity() {
+		return "%s:%s:%s:%s:%s".formatted(getClass().getSimpleName(), getRemappedGroup(), name, version, classifier);
+	}
+
 	protected String getRemappedGroup() {
 		return getMappingsPrefix() + "." + group;
 	}
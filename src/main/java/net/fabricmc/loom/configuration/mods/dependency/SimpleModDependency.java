@@ -40,20 +40,20 @@ public final class SimpleModDependency extends ModDependency {
 	private final Configuration targetConfig;
 	private final LocalMavenHelper maven;
 
-	public SimpleModDependency(ArtifactRef artifact, ArtifactMetadata metadata, String mappingsSuffix, Configuration targetConfig, Project project) {
-		super(artifact, metadata, mappingsSuffix, project);
+	public SimpleModDependency(ArtifactRef artifact, ArtifactMetadata metadata, String mappingsSuffix, String cacheKey, Configuration targetConfig, Project project) {
+		super(artifact, metadata, mappingsSuffix, cacheKey, project);
 		this.targetConfig = Objects.requireNonNull(targetConfig);
 		this.maven = createMaven(name);
 	}
 
 	@Override
 	public boolean isCacheInvalid(Project project, @Nullable String variant) {
-		return !maven.exists(variant);
+		return !maven.exists(variant, cacheKey);
 	}
 
 	@Override
 	public void copyToCache(Project project, Path path, @Nullable String variant) throws IOException {
-		maven.copyToMaven(path, variant);
+		maven.copyToMaven(path, variant, cacheKey);
 	}
 
 	@Override
@@ -48,8 +48,8 @@ public final class SplitModDependency extends ModDependency {
 	@Nullable
 	private final LocalMavenHelper clientMaven;
 
-	public SplitModDependency(ArtifactRef artifact, ArtifactMetadata metadata, String mappingsSuffix, Configuration targetCommonConfig, Configuration targetClientConfig, JarSplitter.Target target, Project project) {
-		super(artifact, metadata, mappingsSuffix, project);
+	public SplitModDependency(ArtifactRef artifact, ArtifactMetadata metadata, String mappingsSuffix, String cacheKey, Configuration targetCommonConfig, Configuration targetClientConfig, JarSplitter.Target target, Project project) {
+		super(artifact, metadata, mappingsSuffix, cacheKey, project);
 		this.targetCommonConfig = Objects.requireNonNull(targetCommonConfig);
 		this.targetClientConfig = Objects.requireNonNull(targetClientConfig);
 		this.target = Objects.requireNonNull(target);
@@ -60,9 +60,9 @@ public final class SplitModDependency extends ModDependency {
 	@Override
 	public boolean isCacheInvalid(Project project, @Nullable String variant) {
 		boolean exists = switch (target) {
-		case COMMON_ONLY -> getCommonMaven().exists(variant);
-		case CLIENT_ONLY -> getClientMaven().exists(variant);
-		case SPLIT -> getCommonMaven().exists(variant) && getClientMaven().exists(variant);
+		case COMMON_ONLY -> getCommonMaven().exists(variant, cacheKey);
+		case CLIENT_ONLY -> getClientMaven().exists(variant, cacheKey);
+		case SPLIT -> getCommonMaven().exists(variant, cacheKey) && getClientMaven().exists(variant, cacheKey);
 		};
 
 		return !exists;
@@ -76,8 +76,8 @@ public final class SplitModDependency extends ModDependency {
 
 			if (artifactTarget != target) {
 				// Found a broken artifact, copy it to both locations without splitting.
-				getCommonMaven().copyToMaven(path, variant);
-				getClientMaven().copyToMaven(path, variant);
+				getCommonMaven().copyToMaven(path, variant, cacheKey);
+				getClientMaven().copyToMaven(path, variant, cacheKey);
 				return;
 			}
 		}
@@ -92,13 +92,13 @@ public final class SplitModDependency extends ModDependency {
 			final JarSplitter splitter = new JarSplitter(path);
 			splitter.split(commonTempJar, clientTempJar);
 
-			getCommonMaven().copyToMaven(commonTempJar, variant);
-			getClientMaven().copyToMaven(clientTempJar, variant);
+			getCommonMaven().copyToMaven(commonTempJar, variant, cacheKey);
+			getClientMaven().copyToMaven(clientTempJar, variant, cacheKey);
 		}
 
 		// No splitting to be done, just copy the input jar to the respective location.
-		case CLIENT_ONLY -> getClientMaven().copyToMaven(path, variant);
-		case COMMON_ONLY -> getCommonMaven().copyToMaven(path, variant);
+		case CLIENT_ONLY -> getClientMaven().copyToMaven(path, variant, cacheKey);
+		case COMMON_ONLY -> getCommonMaven().copyToMaven(path, variant, cacheKey);
 		}
 	}
 
@@ -27,29 +27,31 @@ package net.fabricmc.loom.configuration.processors;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ProjectDependency;
-import org.gradle.api.attributes.Usage;
 import org.gradle.api.plugins.JavaPlugin;
 
 import net.fabricmc.loom.LoomGradleExtension;
 import net.fabricmc.loom.api.RemapConfigurationSettings;
 import net.fabricmc.loom.api.processor.SpecContext;
 import net.fabricmc.loom.util.Constants;
+import net.fabricmc.loom.util.fmj.CachedFabricModJsonReader;
 import net.fabricmc.loom.util.fmj.FabricModJson;
 import net.fabricmc.loom.util.fmj.FabricModJsonFactory;
 import net.fabricmc.loom.util.fmj.FabricModJsonHelpers;
+import net.fabricmc.loom.util.fmj.FabricModJsonSource;
 import net.fabricmc.loom.util.gradle.GradleUtils;
 
 /**
@@ -59,31 +61,25 @@ import net.fabricmc.loom.util.gradle.GradleUtils;
  */
 public record SpecContextImpl(List<FabricModJson> modDependencies, List<FabricModJson> localMods, List<FabricModJson> compileRuntimeMods) implements SpecContext {
 	public static SpecContextImpl create(Project project) {
+		final LoomGradleExtension extension = LoomGradleExtension.get(project);
 		final Map<String, List<FabricModJson>> fmjCache = new HashMap<>();
-		return new SpecContextImpl(getDependentMods(project, fmjCache), FabricModJsonHelpers.getModsInProject(project), getCompileRuntimeMods(project, fmjCache));
+		final CachedFabricModJsonReader modJsonReader = new CachedFabricModJsonReader(extension.getFiles().getUserCache().toPath().resolve("mod-metadata"));
+		return new SpecContextImpl(getDependentMods(project, modJsonReader, fmjCache), FabricModJsonHelpers.getModsInProject(project), getCompileRuntimeMods(project, modJsonReader, fmjCache));
 	}
 
 	// Reruns a list of mods found on both the compile and/or runtime classpaths
-	private static List<FabricModJson> getDependentMods(Project project, Map<String, List<FabricModJson>> fmjCache) {
+	private static List<FabricModJson> getDependentMods(Project project, CachedFabricModJsonReader modJsonReader, Map<String, List<FabricModJson>> fmjCache) {
 		final LoomGradleExtension extension = LoomGradleExtension.get(project);
-		var mods = new ArrayList<FabricModJson>();
+		final Set<Path> artifacts = new LinkedHashSet<>();
 
 		for (RemapConfigurationSettings entry : extension.getRemapConfigurations()) {
-			final Set<File> artifacts = entry.getSourceConfiguration().get().resolve();
-
-			for (File artifact : artifacts) {
-				final List<FabricModJson> fabricModJson = fmjCache.computeIfAbsent(artifact.toPath().toAbsolutePath().toString(), $ -> {
-					return FabricModJsonFactory.createFromZipOptional(artifact.toPath())
-							.map(List::of)
-							.orElseGet(List::of);
-				});
-
-				if (!fabricModJson.isEmpty()) {
-					mods.add(fabricModJson.get(0));
-				}
+			for (File artifact : entry.getSourceConfiguration().get().resolve()) {
+				artifacts.add(artifact.toPath().toAbsolutePath());
 			}
 		}
 
+		var mods = new ArrayList<>(readMods(modJsonReader, artifacts));
+
 		if (!GradleUtils.getBooleanProperty(project, Constants.Properties.DISABLE_PROJECT_DEPENDENT_MODS)) {
 			// Add all the dependent projects
 			for (Project dependentProject : getDependentProjects(project).toList()) {
@@ -105,8 +101,8 @@ public record SpecContextImpl(List<FabricModJson> modDependencies, List<FabricMo
 	}
 
 	// Returns a list of mods that are on both to compile and runtime classpath
-	private static List<FabricModJson> getCompileRuntimeMods(Project project, Map<String, List<FabricModJson>> fmjCache) {
-		var mods = new ArrayList<>(getCompileRuntimeModsFromRemapConfigs(project, fmjCache).toList());
+	private static List<FabricModJson> getCompileRuntimeMods(Project project, CachedFabricModJsonReader modJsonReader, Map<String, List<FabricModJson>> fmjCache) {
+		var mods = new ArrayList<>(getCompileRuntimeModsFromRemapConfigs(project, modJsonReader));
 
 		for (Project dependentProject : getCompileRuntimeProjectDependencies(project).toList()) {
 			mods.addAll(fmjCache.computeIfAbsent(dependentProject.getPath(), $ -> {
@@ -114,42 +110,41 @@ public record SpecContextImpl(List<FabricModJson> modDependencies, List<FabricMo
 			}));
 		}
 
-		return Collections.unmodifiableList(mods);
+		return sorted(mods);
 	}
 
 	// Returns a list of jar mods that are found on the compile and runtime remapping configurations
-	private static Stream<FabricModJson> getCompileRuntimeModsFromRemapConfigs(Project project, Map<String, List<FabricModJson>> fmjCache) {
+	private static List<FabricModJson> getCompileRuntimeModsFromRemapConfigs(Project project, CachedFabricModJsonReader modJsonReader) {
 		final LoomGradleExtension extension = LoomGradleExtension.get(project);
-		final List<Path> runtimeEntries = extension.getRuntimeRemapConfigurations().stream()
+		final Set<Path> runtimeEntries = extension.getRuntimeRemapConfigurations().stream()
 				.filter(settings -> settings.getApplyDependencyTransforms().get())
-				.flatMap(resolveArtifacts(project, true))
-				.toList();
+				.flatMap(resolveArtifacts(extension, true))
+				.collect(Collectors.toSet());
 
-		return extension.getCompileRemapConfigurations().stream()
+		final Set<Path> artifacts = extension.getCompileRemapConfigurations().stream()
 				.filter(settings -> settings.getApplyDependencyTransforms().get())
-				.flatMap(resolveArtifacts(project, false))
+				.flatMap(resolveArtifacts(extension, false))
 				.filter(runtimeEntries::contains) // Use the intersection of the two configurations.
-				.map(zipPath -> {
-					final List<FabricModJson> list = fmjCache.computeIfAbsent(zipPath.toAbsolutePath().toString(), $ -> {
-						return FabricModJsonFactory.createFromZipOptional(zipPath)
-								.map(List::of)
-								.orElseGet(List::of);
-					});
-					return list.isEmpty() ? null : list.get(0);
-				})
-				.filter(Objects::nonNull)
-				.sorted(Comparator.comparing(FabricModJson::getId));
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+
+		return readMods(modJsonReader, artifacts);
+	}
+
+	private static Function<RemapConfigurationSettings, Stream<Path>> resolveArtifacts(LoomGradleExtension extension, boolean runtime) {
+		return settings -> extension.getRemapSourceUsageCopy(settings, runtime)
+				.resolve()
+				.stream()
+				.map(file -> file.toPath().toAbsolutePath());
 	}
 
-	private static Function<RemapConfigurationSettings, Stream<Path>> resolveArtifacts(Project project, boolean runtime) {
-		final Usage usage = project.getObjects().named(Usage.class, runtime ? Usage.JAVA_RUNTIME : Usage.JAVA_API);
+	// Reads the mods in parallel, the returned list is in the same order as the given artifacts.
+	private static List<FabricModJson> readMods(CachedFabricModJsonReader modJsonReader, Set<Path> artifacts) {
+		final Map<Path, Optional<FabricModJson>> mods = modJsonReader.readAll(artifacts);
 
-		return settings -> {
-			final Configuration configuration = settings.getSourceConfiguration().get().copyRecursive();
-			configuration.setCanBeConsumed(false);
-			configuration.attributes(attributes -> attributes.attribute(Usage.USAGE_ATTRIBUTE, usage));
-			return configuration.resolve().stream().map(File::toPath);
-		};
+		return artifacts.stream()
+				.map(mods::get)
+				.flatMap(Optional::stream)
+				.toList();
 	}
 
 	// Returns a list of Loom Projects found in both the runtime and compile classpath
@@ -170,9 +165,19 @@ public record SpecContextImpl(List<FabricModJson> modDependencies, List<FabricMo
 				.filter(GradleUtils::isLoomProject);
 	}
 
-	// Sort to ensure stable caching
+	// Sort to ensure stable caching, the file name keeps the order stable when the same mod id is found more than once.
 	private static List<FabricModJson> sorted(List<FabricModJson> mods) {
-		return mods.stream().sorted(Comparator.comparing(FabricModJson::getId)).toList();
+		return mods.stream()
+				.sorted(Comparator.comparing(FabricModJson::getId).thenComparing(SpecContextImpl::getSourceName))
+				.toList();
+	}
+
+	private static String getSourceName(FabricModJson modJson) {
+		if (modJson.getSource() instanceof FabricModJsonSource.ZipSource zipSource) {
+			return zipSource.zipPath().getFileName().toString();
+		}
+
+		return "";
 	}
 
 	@Override
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -43,18 +44,19 @@ import org.gradle.api.artifacts.ResolvedArtifact;
 import org.gradle.api.artifacts.ResolvedConfiguration;
 
 import net.fabricmc.loom.LoomGradleExtension;
-import net.fabricmc.loom.api.mappings.layered.MappingContext;
+import net.fabricmc.loom.LoomGradlePlugin;
 import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
 import net.fabricmc.loom.configuration.mods.ModConfigurationRemapper;
 import net.fabricmc.loom.configuration.mods.dependency.LocalMavenHelper;
-import net.fabricmc.loom.configuration.providers.mappings.GradleMappingContext;
 import net.fabricmc.loom.configuration.providers.mappings.MappingConfiguration;
+import net.fabricmc.loom.util.Checksum;
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.loom.util.ExceptionUtil;
 import net.fabricmc.loom.util.FileSystemUtil;
 import net.fabricmc.loom.util.PropertyUtil;
-import net.fabricmc.loom.util.srg.RemapObjectHolderVisitor;
 import net.fabricmc.loom.util.srg.ForgeMappingsMerger;
+import net.fabricmc.loom.util.srg.RemapObjectHolderVisitor;
+import net.fabricmc.mappingio.MappingReader;
 import net.fabricmc.mappingio.tree.MemoryMappingTree;
 
 public class ForgeLibrariesProvider {
@@ -171,31 +173,19 @@ public class ForgeLibrariesProvider {
 				extension.getFiles().getForgeDependencyRepo().toPath()
 		);
 		final Path inputJar = artifact.getFile().toPath();
-		final Path outputJar = mavenHelper.getOutputFile(null);
-
-		// Modify jar.
-		if (!Files.exists(outputJar) || extension.refreshDeps()) {
-			mavenHelper.copyToMaven(inputJar, null);
-
-			try (FileSystemUtil.Delegate fs = FileSystemUtil.getJarFileSystem(outputJar, false)) {
-				Path path = fs.get().getPath("META-INF/services/cpw.mods.modlauncher.api.INameMappingService");
-				Files.deleteIfExists(path);
-
-				if (Files.exists(fs.get().getPath(FORGE_OBJECT_HOLDER_FILE))) {
-					remapObjectHolder(project, outputJar, mappingConfiguration);
-				}
-
-				if (Files.exists(fs.getPath(FORGE_MOD_DIR_TRANSFORMER_DISCOVERER_FILE))) {
-					ClassVisitorUtil.rewriteClassFile(fs.getPath(FORGE_MOD_DIR_TRANSFORMER_DISCOVERER_FILE), ModDirTransformerDiscovererPatch::new);
-				}
-
-				if (Files.exists(fs.getPath(NEOFORGE_OBJECT_HOLDER_FILE))) {
-					remapNeoForgeObjectHolder(project, outputJar, mappingConfiguration);
-				}
-
-				if (Files.exists(fs.getPath(NEOFORGE_LAUNCH_HANDLER_FILE))) {
-					ClassVisitorUtil.rewriteClassFile(fs.getPath(NEOFORGE_LAUNCH_HANDLER_FILE), LaunchHandlerPatcher::new);
-				}
+		final String cacheKey = getFmlLoaderCacheKey(inputJar, mappingConfiguration);
+
+		// Modify jar, unless it has already been done with the same inputs.
+		if (!mavenHelper.exists(null, cacheKey) || extension.refreshDeps()) {
+			final Path workingJar = Files.createTempFile("fmlloader", ".jar");
+
+			try {
+				Files.copy(inputJar, workingJar, StandardCopyOption.REPLACE_EXISTING);
+				patchFmlLoader(project, workingJar, mappingConfiguration);
+				// Only store the cache key once the jar has been fully patched.
+				mavenHelper.copyToMaven(workingJar, null, cacheKey);
+			} finally {
+				Files.deleteIfExists(workingJar);
 			}
 
 			// Copy sources when not running under CI.
@@ -206,18 +196,62 @@ public class ForgeLibrariesProvider {
 					mavenHelper.copyToMaven(sourcesJar, "sources");
 				}
 			}
+		} else {
+			project.getLogger().info(":fml loader is up to date");
 		}
 
 		return mavenHelper.getNotation();
 	}
 
+	private static void patchFmlLoader(Project project, Path jar, MappingConfiguration mappingConfiguration) throws IOException {
+		try (FileSystemUtil.Delegate fs = FileSystemUtil.getJarFileSystem(jar, false)) {
+			Path path = fs.get().getPath("META-INF/services/cpw.mods.modlauncher.api.INameMappingService");
+			Files.deleteIfExists(path);
+
+			if (Files.exists(fs.get().getPath(FORGE_OBJECT_HOLDER_FILE))) {
+				remapObjectHolder(project, jar, mappingConfiguration);
+			}
+
+			if (Files.exists(fs.getPath(FORGE_MOD_DIR_TRANSFORMER_DISCOVERER_FILE))) {
+				ClassVisitorUtil.rewriteClassFile(fs.getPath(FORGE_MOD_DIR_TRANSFORMER_DISCOVERER_FILE), ModDirTransformerDiscovererPatch::new);
+			}
+
+			if (Files.exists(fs.getPath(NEOFORGE_OBJECT_HOLDER_FILE))) {
+				remapNeoForgeObjectHolder(project, jar, mappingConfiguration);
+			}
+
+			if (Files.exists(fs.getPath(NEOFORGE_LAUNCH_HANDLER_FILE))) {
+				ClassVisitorUtil.rewriteClassFile(fs.getPath(NEOFORGE_LAUNCH_HANDLER_FILE), LaunchHandlerPatcher::new);
+			}
+		}
+	}
+
+	// The patched jar only depends on the input jar, the mappings and the patches applied by this version of Loom.
+	private static String getFmlLoaderCacheKey(Path inputJar, MappingConfiguration mappingConfiguration) throws IOException {
+		final String key = "%s:%s:%s:%s".formatted(
+				LoomGradlePlugin.LOOM_VERSION,
+				Checksum.toHex(Checksum.sha256(inputJar.toFile())),
+				mappingConfiguration.mappingsIdentifier(),
+				Checksum.sha1Hex(mappingConfiguration.tinyMappings)
+		);
+		return Checksum.sha1Hex(key.getBytes(StandardCharsets.UTF_8));
+	}
+
 	private static void remapObjectHolder(Project project, Path outputJar, MappingConfiguration mappingConfiguration) throws IOException {
 		try {
-			// Merge SRG mappings. The real SRG mapping file hasn't been created yet since the usual SRG merging
-			// process occurs after all Forge libraries have been provided.
-			// Forge libs are needed for MC, which is needed for the mappings.
-			final ForgeMappingsMerger.ExtraMappings extraMappings = ForgeMappingsMerger.ExtraMappings.ofMojmapTsrg(MappingConfiguration.getMojmapSrgFileIfPossible(project));
-			final MemoryMappingTree mappings = ForgeMappingsMerger.mergeSrg(MappingConfiguration.getRawSrgFile(project), mappingConfiguration.tinyMappings, extraMappings, true);
+			final LoomGradleExtension extension = LoomGradleExtension.get(project);
+			final MemoryMappingTree mappings;
+
+			if (extension.isForge() && extension.getForgeProvider().usesMojangAtRuntime()) {
+				// The shared SRG mappings have the Mojang mappings merged in first when Mojang mappings are used at runtime,
+				// so keep merging the SRG mappings directly onto the mappings here.
+				final ForgeMappingsMerger.ExtraMappings extraMappings = ForgeMappingsMerger.ExtraMappings.ofMojmapTsrg(MappingConfiguration.getMojmapSrgFileIfPossible(project));
+				mappings = ForgeMappingsMerger.mergeSrg(MappingConfiguration.getRawSrgFile(project), mappingConfiguration.tinyMappings, extraMappings, true);
+			} else {
+				// Use the SRG merged mappings from the mapping configuration, they are merged early here (rather than in setupPost)
+				// since Forge libs are needed for MC, which is needed for the mappings.
+				mappings = readMappings(mappingConfiguration.provideSrgMergedMappings(project));
+			}
 
 			// Remap the object holders.
 			RemapObjectHolderVisitor.remapObjectHolder(
@@ -231,11 +265,9 @@ public class ForgeLibrariesProvider {
 
 	private static void remapNeoForgeObjectHolder(Project project, Path outputJar, MappingConfiguration mappingConfiguration) throws IOException {
 		try {
-			// Merge Mojang mappings. The real Mojang mapping file hasn't been created yet since the usual Mojang merging
-			// process occurs after all Forge libraries have been provided.
-			// Forge libs are needed for MC, which is needed for the mappings.
-			final MappingContext context = new GradleMappingContext(project, "tmp-neoforge-libs");
-			final MemoryMappingTree mappings = ForgeMappingsMerger.mergeMojang(context, mappingConfiguration.tinyMappings, null, true);
+			// Use the Mojang merged mappings from the mapping configuration, they are merged early here (rather than in setupPost)
+			// since Forge libs are needed for MC, which is needed for the mappings.
+			final MemoryMappingTree mappings = readMappings(mappingConfiguration.provideMojangMergedMappings(project));
 
 			// Remap the object holders.
 			RemapObjectHolderVisitor.remapObjectHolder(
@@ -247,6 +279,12 @@ public class ForgeLibrariesProvider {
 		}
 	}
 
+	private static MemoryMappingTree readMappings(Path path) throws IOException {
+		final MemoryMappingTree mappings = new MemoryMappingTree();
+		MappingReader.read(path, mappings);
+		return mappings;
+	}
+
 	/**
 	 * Reconstructs the dependency notation of a resolved artifact.
 	 * @param artifact the artifact
@@ -52,6 +52,7 @@ import java.util.stream.Stream;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import de.oceanlabs.mcp.mcinjector.adaptors.ParameterAnnotationFixer;
+import dev.architectury.loom.forge.BinaryPatcher;
 import dev.architectury.loom.forge.UserdevConfig;
 import dev.architectury.loom.util.MappingOption;
 import dev.architectury.loom.util.TempFiles;
@@ -74,15 +75,18 @@ import net.fabricmc.loom.configuration.providers.forge.mcpconfig.McpExecutor;
 import net.fabricmc.loom.configuration.providers.forge.minecraft.ForgeMinecraftProvider;
 import net.fabricmc.loom.configuration.providers.mappings.TinyMappingsService;
 import net.fabricmc.loom.configuration.providers.minecraft.MinecraftProvider;
+import net.fabricmc.loom.configuration.providers.minecraft.SharedMinecraftJarStore;
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.loom.util.DependencyDownloader;
 import net.fabricmc.loom.util.FileSystemUtil;
 import net.fabricmc.loom.util.ForgeToolExecutor;
 import net.fabricmc.loom.util.MappingsProviderVerbose;
+import net.fabricmc.loom.util.MemoryBudget;
 import net.fabricmc.loom.util.ThreadingUtils;
 import net.fabricmc.loom.util.TinyRemapperHelper;
 import net.fabricmc.loom.util.ZipUtils;
 import net.fabricmc.loom.util.function.FsPathConsumer;
+import net.fabricmc.loom.util.gradle.GradleUtils;
 import net.fabricmc.loom.util.service.ScopedSharedServiceManager;
 import net.fabricmc.loom.util.service.SharedServiceManager;
 import net.fabricmc.loom.util.srg.CoreModClassRemapper;
@@ -418,7 +422,8 @@ public class MinecraftPatchedProvider {
 
 		TinyRemapper remapper = buildRemapper(serviceManager, mcInput);
 
-		try (OutputConsumerPath outputConsumer = new OutputConsumerPath.Builder(mcOutput).build()) {
+		try (var lease = MemoryBudget.get().acquire("Remap patched minecraft", MemoryBudget.estimateJars(mcInput, forgeJar, forgeUserdevJar));
+				OutputConsumerPath outputConsumer = new OutputConsumerPath.Builder(mcOutput).build()) {
 			outputConsumer.addNonClassFiles(mcInput);
 			outputConsumer.addNonClassFiles(forgeJar, NonClassCopyMode.FIX_META_INF, remapper);
 
@@ -447,9 +452,17 @@ public class MinecraftPatchedProvider {
 	}
 
 	private void patchJars() throws Exception {
+		final Path patches = type.patches.apply(getExtension().getPatchProvider(), getExtension().getForgeUserdevProvider());
+		final SharedMinecraftJarStore jarStore = SharedMinecraftJarStore.get(project);
+		final SharedMinecraftJarStore.Key jarStoreKey = jarStore != null ? getJarStoreKey(patches) : null;
+
+		if (jarStore != null && jarStore.restore(jarStoreKey, minecraftPatchedIntermediateJar)) {
+			return;
+		}
+
 		Stopwatch stopwatch = Stopwatch.createStarted();
 		logger.lifecycle(":patching jars");
-		patchJars(minecraftIntermediateJar, minecraftPatchedIntermediateJar, type.patches.apply(getExtension().getPatchProvider(), getExtension().getForgeUserdevProvider()));
+		patchJars(minecraftIntermediateJar, minecraftPatchedIntermediateJar, patches);
 
 		copyMissingClasses(minecraftIntermediateJar, minecraftPatchedIntermediateJar);
 		deleteParameterNames(minecraftPatchedIntermediateJar);
@@ -459,11 +472,46 @@ public class MinecraftPatchedProvider {
 		}
 
 		logger.lifecycle(":patched jars in " + stopwatch.stop());
+
+		if (jarStore != null) {
+			jarStore.store(jarStoreKey, minecraftPatchedIntermediateJar);
+		}
+	}
+
+	private SharedMinecraftJarStore.Key getJarStoreKey(Path patches) throws IOException {
+		return SharedMinecraftJarStore.key("minecraft-" + type.id + "-patched")
+				.add(getExtension().getPlatform().get().name())
+				.add(getExtension().getForgeProvider().getVersion().getCombined())
+				.add(CURRENT_LOOM_PATCH_VERSION)
+				.add(Boolean.toString(getExtension().isForgeLikeAndNotOfficial()))
+				.add(getBinaryPatcherId())
+				.addFile(minecraftIntermediateJar)
+				.addFile(patches);
 	}
 
-	private void patchJars(Path clean, Path output, Path patches) {
+	// The jars patched in process and by the external tool are not guaranteed to be identical, so they are stored separately.
+	private String getBinaryPatcherId() {
+		UserdevConfig.BinaryPatcherConfig config = getExtension().getForgeUserdevProvider().getConfig().binpatcher();
+		return useInProcessBinaryPatcher(BinaryPatcher.Options.parse(config.args())) ? "in-process" : config.dependency();
+	}
+
+	private boolean useInProcessBinaryPatcher(BinaryPatcher.Options options) {
+		return options != null && !GradleUtils.getBooleanProperty(project, Constants.Properties.EXTERNAL_BINARY_PATCHER);
+	}
+
+	private void patchJars(Path clean, Path output, Path patches) throws IOException {
+		UserdevConfig.BinaryPatcherConfig config = getExtension().getForgeUserdevProvider().getConfig().binpatcher();
+		final BinaryPatcher.Options options = BinaryPatcher.Options.parse(config.args());
+
+		if (useInProcessBinaryPatcher(options)) {
+			// Apply the patches in process, the decoded patches are cached in the user cache.
+			final Path cacheDir = getExtension().getFiles().getUserCache().toPath().resolve("forge-binpatches");
+			Files.deleteIfExists(output);
+			BinaryPatcher.load(patches, cacheDir).apply(clean, output, options);
+			return;
+		}
+
 		ForgeToolExecutor.exec(project, spec -> {
-			UserdevConfig.BinaryPatcherConfig config = getExtension().getForgeUserdevProvider().getConfig().binpatcher();
 			spec.classpath(DependencyDownloader.download(project, config.dependency()));
 			spec.getMainClass().set("net.minecraftforge.binarypatcher.ConsoleTool");
 
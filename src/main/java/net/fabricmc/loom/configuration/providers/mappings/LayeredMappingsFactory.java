@@ -24,15 +24,19 @@
 
 package net.fabricmc.loom.configuration.providers.mappings;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Dependency;
@@ -48,7 +52,6 @@ import net.fabricmc.loom.configuration.ConfigContext;
 import net.fabricmc.loom.configuration.mods.dependency.LocalMavenHelper;
 import net.fabricmc.loom.configuration.providers.mappings.extras.unpick.UnpickLayer;
 import net.fabricmc.loom.configuration.providers.mappings.utils.AddConstructorMappingVisitor;
-import net.fabricmc.loom.util.ZipUtils;
 import net.fabricmc.mappingio.adapter.MappingDstNsReorder;
 import net.fabricmc.mappingio.adapter.MappingSourceNsSwitch;
 import net.fabricmc.mappingio.format.tiny.Tiny2FileWriter;
@@ -93,14 +96,27 @@ public record LayeredMappingsFactory(LayeredMappingSpec spec) {
 		}
 
 		boolean noIntermediateMappings = extension.getIntermediateMappingsProvider() instanceof NoOpIntermediateMappingsProvider;
-		var processor = new LayeredMappingsProcessor(spec, noIntermediateMappings);
+		// Don't read or write the cached layers when refreshing, all of the layers are merged from scratch.
+		final Path layerCacheDir = mappingContext.refreshDeps() ? null : mappingsDir.resolve("layer-cache");
+		var processor = new LayeredMappingsProcessor(spec, noIntermediateMappings, layerCacheDir);
 		List<MappingLayer> layers = processor.resolveLayers(mappingContext);
 
 		Files.deleteIfExists(mappingsZip);
+		Files.createDirectories(mappingsDir);
+		final Path tempZip = Files.createTempFile(mappingsDir, "layered", ".jar.tmp");
+
+		try {
+			// Write all of the entries in a single pass, rather than re-opening the zip for each entry.
+			try (var zipOutputStream = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(tempZip)))) {
+				writeMapping(processor, layers, zipOutputStream);
+				writeSignatureFixes(processor, layers, zipOutputStream);
+				writeUnpickData(processor, layers, zipOutputStream);
+			}
 
-		writeMapping(processor, layers, mappingsZip);
-		writeSignatureFixes(processor, layers, mappingsZip);
-		writeUnpickData(processor, layers, mappingsZip);
+			Files.move(tempZip, mappingsZip, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tempZip);
+		}
 
 		return mappingsZip;
 	}
@@ -113,23 +129,25 @@ public record LayeredMappingsFactory(LayeredMappingSpec spec) {
 		return String.format("%s:%s:%s", GROUP, MODULE, spec.getVersion());
 	}
 
-	private void writeMapping(LayeredMappingsProcessor processor, List<MappingLayer> layers, Path mappingsFile) throws IOException {
+	private void writeMapping(LayeredMappingsProcessor processor, List<MappingLayer> layers, ZipOutputStream zipOutputStream) throws IOException {
 		MemoryMappingTree mappings = processor.getMappings(layers);
 
-		try (Writer writer = new StringWriter()) {
-			var tiny2Writer = new Tiny2FileWriter(writer, false);
+		zipOutputStream.putNextEntry(new ZipEntry("mappings/mappings.tiny"));
 
-			MappingDstNsReorder nsReorder = new MappingDstNsReorder(tiny2Writer, List.of(MappingsNamespace.NAMED.toString(), MappingsNamespace.OFFICIAL.toString()));
-			MappingSourceNsSwitch nsSwitch = new MappingSourceNsSwitch(nsReorder, MappingsNamespace.INTERMEDIARY.toString(), true);
-			AddConstructorMappingVisitor addConstructor = new AddConstructorMappingVisitor(nsSwitch);
-			mappings.accept(addConstructor);
+		// The writer is intentionally not closed as that would close the zip stream.
+		Writer writer = new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8);
+		var tiny2Writer = new Tiny2FileWriter(writer, false);
 
-			Files.deleteIfExists(mappingsFile);
-			ZipUtils.add(mappingsFile, "mappings/mappings.tiny", writer.toString().getBytes(StandardCharsets.UTF_8));
-		}
+		MappingDstNsReorder nsReorder = new MappingDstNsReorder(tiny2Writer, List.of(MappingsNamespace.NAMED.toString(), MappingsNamespace.OFFICIAL.toString()));
+		MappingSourceNsSwitch nsSwitch = new MappingSourceNsSwitch(nsReorder, MappingsNamespace.INTERMEDIARY.toString(), true);
+		AddConstructorMappingVisitor addConstructor = new AddConstructorMappingVisitor(nsSwitch);
+		mappings.accept(addConstructor);
+
+		writer.flush();
+		zipOutputStream.closeEntry();
 	}
 
-	private void writeSignatureFixes(LayeredMappingsProcessor processor, List<MappingLayer> layers, Path mappingsFile) throws IOException {
+	private void writeSignatureFixes(LayeredMappingsProcessor processor, List<MappingLayer> layers, ZipOutputStream zipOutputStream) throws IOException {
 		Map<String, String> signatureFixes = processor.getSignatureFixes(layers);
 
 		if (signatureFixes == null) {
@@ -138,17 +156,23 @@ public record LayeredMappingsFactory(LayeredMappingSpec spec) {
 
 		byte[] data = LoomGradlePlugin.GSON.toJson(signatureFixes).getBytes(StandardCharsets.UTF_8);
 
-		ZipUtils.add(mappingsFile, "extras/record_signatures.json", data);
+		writeEntry(zipOutputStream, "extras/record_signatures.json", data);
 	}
 
-	private void writeUnpickData(LayeredMappingsProcessor processor, List<MappingLayer> layers, Path mappingsFile) throws IOException {
+	private void writeUnpickData(LayeredMappingsProcessor processor, List<MappingLayer> layers, ZipOutputStream zipOutputStream) throws IOException {
 		UnpickLayer.UnpickData unpickData = processor.getUnpickData(layers);
 
 		if (unpickData == null) {
 			return;
 		}
 
-		ZipUtils.add(mappingsFile, "extras/definitions.unpick", unpickData.definitions());
-		ZipUtils.add(mappingsFile, "extras/unpick.json", unpickData.metadata().asJson());
+		writeEntry(zipOutputStream, "extras/definitions.unpick", unpickData.definitions());
+		writeEntry(zipOutputStream, "extras/unpick.json", unpickData.metadata().asJson().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void writeEntry(ZipOutputStream zipOutputStream, String path, byte[] data) throws IOException {
+		zipOutputStream.putNextEntry(new ZipEntry(path));
+		zipOutputStream.write(data);
+		zipOutputStream.closeEntry();
 	}
 }
@@ -25,6 +25,14 @@
 package net.fabricmc.loom.configuration.providers.mappings;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -33,6 +41,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import net.fabricmc.loom.api.mappings.layered.MappingContext;
 import net.fabricmc.loom.api.mappings.layered.MappingLayer;
@@ -40,17 +50,34 @@ import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
 import net.fabricmc.loom.api.mappings.layered.spec.MappingsSpec;
 import net.fabricmc.loom.configuration.providers.mappings.extras.signatures.SignatureFixesLayer;
 import net.fabricmc.loom.configuration.providers.mappings.extras.unpick.UnpickLayer;
+import net.fabricmc.loom.util.CacheRules;
+import net.fabricmc.loom.util.Checksum;
+import net.fabricmc.mappingio.MappingReader;
 import net.fabricmc.mappingio.adapter.MappingNsCompleter;
 import net.fabricmc.mappingio.adapter.MappingSourceNsSwitch;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.tiny.Tiny2FileWriter;
 import net.fabricmc.mappingio.tree.MemoryMappingTree;
 
 public class LayeredMappingsProcessor {
+	private static final Logger LOGGER = LoggerFactory.getLogger(LayeredMappingsProcessor.class);
+	// Old layers are left behind whenever a layer spec changes, only keep the recently used ones.
+	private static final CacheRules LAYER_CACHE_RULES = new CacheRules(50, Duration.ofDays(30));
+
 	private final LayeredMappingSpec layeredMappingSpec;
 	private final boolean noIntermediateMappings;
+	// When set, the merged tree of every layer prefix is cached here, allowing unchanged lower layers to be reused.
+	@Nullable
+	private final Path layerCacheDir;
 
 	public LayeredMappingsProcessor(LayeredMappingSpec spec, boolean noIntermediateMappings) {
+		this(spec, noIntermediateMappings, null);
+	}
+
+	public LayeredMappingsProcessor(LayeredMappingSpec spec, boolean noIntermediateMappings, @Nullable Path layerCacheDir) {
 		this.layeredMappingSpec = spec;
 		this.noIntermediateMappings = noIntermediateMappings;
+		this.layerCacheDir = layerCacheDir;
 	}
 
 	public List<MappingLayer> resolveLayers(MappingContext context) {
@@ -74,9 +101,33 @@ public class LayeredMappingsProcessor {
 	}
 
 	public MemoryMappingTree getMappings(List<MappingLayer> layers) throws IOException {
+		final List<String> prefixHashes = getLayerPrefixHashes(layers.size());
 		MemoryMappingTree mappingTree = new MemoryMappingTree();
+		int firstLayer = 0;
 
-		for (MappingLayer layer : layers) {
+		// Find the longest prefix of layers that has already been merged, the top layer is never cached as the full result is stored in the mappings jar.
+		for (int i = layers.size() - 2; i >= 0 && layerCacheDir != null; i--) {
+			final Path cachedTree = getLayerCacheFile(prefixHashes.get(i));
+
+			if (Files.exists(cachedTree)) {
+				try {
+					MemoryMappingTree cached = new MemoryMappingTree();
+					MappingReader.read(cachedTree, MappingFormat.TINY_2_FILE, cached);
+					LOGGER.info("Reusing {} cached mapping layer(s) from {}", i + 1, cachedTree);
+					// Mark the layer as recently used so that it is not pruned.
+					Files.setLastModifiedTime(cachedTree, FileTime.from(Instant.now()));
+					mappingTree = cached;
+					firstLayer = i + 1;
+					break;
+				} catch (IOException | RuntimeException e) {
+					LOGGER.warn("Failed to read cached mapping layer {}, ignoring", cachedTree, e);
+					Files.deleteIfExists(cachedTree);
+				}
+			}
+		}
+
+		for (int i = firstLayer; i < layers.size(); i++) {
+			final MappingLayer layer = layers.get(i);
 			// We have to rebuild a new tree to work on when a layer doesnt merge into layered
 			boolean rebuild = layer.getSourceNamespace() != MappingsNamespace.NAMED;
 			MemoryMappingTree workingTree;
@@ -105,6 +156,14 @@ public class LayeredMappingsProcessor {
 				mappingTree = new MemoryMappingTree();
 				workingTree.accept(new MappingSourceNsSwitch(mappingTree, MappingsNamespace.NAMED.toString()));
 			}
+
+			if (layerCacheDir != null && i < layers.size() - 1) {
+				writeLayerCache(mappingTree, getLayerCacheFile(prefixHashes.get(i)));
+			}
+		}
+
+		if (layerCacheDir != null) {
+			pruneLayerCache();
 		}
 
 		if (noIntermediateMappings) {
@@ -117,6 +176,56 @@ public class LayeredMappingsProcessor {
 		return mappingTree;
 	}
 
+	// The cache is only an optimisation, failing to prune it should not fail resolving the mappings.
+	private void pruneLayerCache() {
+		try {
+			LAYER_CACHE_RULES.pruneDirectory(layerCacheDir, ".tiny");
+		} catch (IOException e) {
+			LOGGER.warn("Failed to prune the mapping layer cache in {}", layerCacheDir, e);
+		}
+	}
+
+	/**
+	 * Computes a hash for each prefix of the layer stack, the hash of a prefix only depends on the specs of the layers within it.
+	 */
+	private List<String> getLayerPrefixHashes(int layerCount) {
+		final List<MappingsSpec<?>> specs = layeredMappingSpec.layers();
+
+		if (specs.size() != layerCount) {
+			throw new IllegalStateException("Expected %d layers but got %d".formatted(specs.size(), layerCount));
+		}
+
+		final List<String> hashes = new ArrayList<>(layerCount);
+		String previous = noIntermediateMappings ? "no-intermediate" : "";
+
+		for (MappingsSpec<?> spec : specs) {
+			final String key = previous + "|" + spec.getClass().getName() + ":" + spec.hashCode();
+			previous = Checksum.sha1Hex(key.getBytes(StandardCharsets.UTF_8));
+			hashes.add(previous);
+		}
+
+		return hashes;
+	}
+
+	private Path getLayerCacheFile(String prefixHash) {
+		return layerCacheDir.resolve(prefixHash + ".tiny");
+	}
+
+	private static void writeLayerCache(MemoryMappingTree mappingTree, Path cacheFile) throws IOException {
+		Files.createDirectories(cacheFile.getParent());
+		final Path tempFile = Files.createTempFile(cacheFile.getParent(), "layer", ".tiny.tmp");
+
+		try {
+			try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+				mappingTree.accept(new Tiny2FileWriter(writer, true));
+			}
+
+			Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
 	@Nullable
 	public Map<String, String> getSignatureFixes(List<MappingLayer> layers) {
 		Map<String, String> signatureFixes = new HashMap<>();
@@ -100,6 +100,8 @@ public class MappingConfiguration {
 	private final Path unpickDefinitions;
 
 	private boolean hasUnpickDefinitions;
+	private boolean mojangMerged;
+	private boolean srgMerged;
 	private UnpickMetadata unpickMetadata;
 	private Map<String, String> signatureFixes;
 
@@ -207,9 +209,7 @@ public class MappingConfiguration {
 
 			// Generate the Mojmap-merged mappings if needed.
 			// Note that this needs to happen before manipulateMappings for FieldMigratedMappingConfiguration.
-			if (Files.notExists(tinyMappingsWithMojang) || extension.refreshDeps()) {
-				mergeMojang(project, tinyMappings, tinyMappingsWithMojang);
-			}
+			provideMojangMergedMappings(project);
 		}
 
 		if (extension.shouldGenerateSrgTiny()) {
@@ -219,6 +219,40 @@ public class MappingConfiguration {
 				this.mappingOptions.put(MappingOption.WITH_MOJANG, () -> this.tinyMappingsWithSrg);
 			}
 
+			provideSrgMergedMappings(project);
+		}
+
+		manipulateMappings(project, tinyMappingsJar);
+	}
+
+	/**
+	 * Merges the Mojang mappings into the mappings if needed, the result is shared for the rest of this configuration.
+	 * This can be called before {@link #setupPost(Project)}, such as when the Forge libraries need the merged mappings.
+	 *
+	 * @return the path to the Mojang merged mappings, before any migration
+	 */
+	public Path provideMojangMergedMappings(Project project) throws IOException {
+		if (!mojangMerged) {
+			if (Files.notExists(tinyMappingsWithMojang) || LoomGradleExtension.get(project).refreshDeps()) {
+				mergeMojang(project, tinyMappings, tinyMappingsWithMojang);
+			}
+
+			mojangMerged = true;
+		}
+
+		return tinyMappingsWithMojang;
+	}
+
+	/**
+	 * Merges the SRG mappings into the mappings if needed, the result is shared for the rest of this configuration.
+	 * This can be called before {@link #setupPost(Project)}, such as when the Forge libraries need the merged mappings.
+	 *
+	 * @return the path to the SRG merged mappings, before any migration
+	 */
+	public Path provideSrgMergedMappings(Project project) throws IOException {
+		if (!srgMerged) {
+			final LoomGradleExtension extension = LoomGradleExtension.get(project);
+
 			if (Files.notExists(tinyMappingsWithSrg) || extension.refreshDeps()) {
 				if (extension.isForge() && extension.getForgeProvider().usesMojangAtRuntime()) {
 					Path tmp = Files.createTempFile("mappings", ".tiny");
@@ -229,9 +263,11 @@ public class MappingConfiguration {
 					mergeSrg(project, tinyMappings, tinyMappingsWithSrg);
 				}
 			}
+
+			srgMerged = true;
 		}
 
-		manipulateMappings(project, tinyMappingsJar);
+		return tinyMappingsWithSrg;
 	}
 
 	public void applyToProject(Project project, DependencyInfo dependency) throws IOException {
@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
 import net.fabricmc.loom.configuration.ConfigContext;
+import net.fabricmc.loom.util.MemoryBudget;
 
 public class MergedMinecraftProvider extends MinecraftProvider {
 	private static final Logger LOGGER = LoggerFactory.getLogger(MergedMinecraftProvider.class);
@@ -90,6 +91,14 @@ public class MergedMinecraftProvider extends MinecraftProvider {
 	protected void mergeJars() throws IOException {
 		File minecraftClientJar = getMinecraftClientJar();
 		File minecraftServerJar = getMinecraftServerJar();
+		final SharedMinecraftJarStore jarStore = SharedMinecraftJarStore.get(getProject());
+		final SharedMinecraftJarStore.Key jarStoreKey = jarStore != null ? SharedMinecraftJarStore.key("minecraft-merged")
+				.addFile(minecraftClientJar.toPath())
+				.addFile(minecraftServerJar.toPath()) : null;
+
+		if (jarStore != null && jarStore.restore(jarStoreKey, minecraftMergedJar)) {
+			return;
+		}
 
 		if (getServerBundleMetadata() != null) {
 			extractBundledServerJar();
@@ -97,6 +106,10 @@ public class MergedMinecraftProvider extends MinecraftProvider {
 		}
 
 		mergeJars(minecraftClientJar, minecraftServerJar, minecraftMergedJar.toFile());
+
+		if (jarStore != null) {
+			jarStore.store(jarStoreKey, minecraftMergedJar);
+		}
 	}
 
 	public static void mergeJars(File clientJar, File serverJar, File mergedJar) throws IOException {
@@ -105,7 +118,8 @@ public class MergedMinecraftProvider extends MinecraftProvider {
 		Objects.requireNonNull(clientJar, "Cannot merge null client jar?");
 		Objects.requireNonNull(serverJar, "Cannot merge null server jar?");
 
-		try (var jarMerger = new MinecraftJarMerger(clientJar, serverJar, mergedJar)) {
+		try (var lease = MemoryBudget.get().acquire("Merge jars", MemoryBudget.estimateJars(clientJar.toPath(), serverJar.toPath()));
+				var jarMerger = new MinecraftJarMerger(clientJar, serverJar, mergedJar)) {
 			jarMerger.enableSyntheticParamsOffset();
 			jarMerger.merge();
 		}
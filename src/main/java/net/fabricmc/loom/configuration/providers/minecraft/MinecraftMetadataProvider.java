@@ -29,6 +29,10 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import org.gradle.api.Project;
@@ -101,20 +105,25 @@ public final class MinecraftMetadataProvider {
 			return new ManifestEntryLocation(null, customVersion);
 		}
 
-		final List<ManifestEntrySupplier> suppliers = new ArrayList<>();
+		// A prebuilt index takes priority, this allows finding the version without access to the manifests.
+		if (options.versionsManifestIndex() != null) {
+			final VersionsManifest.Version version = VersionsManifestIndex.read(options.versionsManifestIndex()).getVersion(options.minecraftVersion());
 
-		// First try finding the version with caching
-		for (ManifestLocation location : options.versionsManifests()) {
-			suppliers.add(() -> getManifestEntry(location, false));
+			if (version != null) {
+				return new ManifestEntryLocation(null, version);
+			}
 		}
 
-		// Then force download the manifest to find the version
-		for (ManifestLocation location : options.versionsManifests()) {
-			suppliers.add(() -> getManifestEntry(location, true));
+		// First try finding the version with caching, all of the manifests are revalidated concurrently.
+		final ManifestEntryLocation cachedVersion = getCachedManifestEntry();
+
+		if (cachedVersion != null) {
+			return cachedVersion;
 		}
 
-		for (ManifestEntrySupplier supplier : suppliers) {
-			final ManifestEntryLocation version = supplier.get();
+		// Then force download the manifest to find the version
+		for (ManifestLocation location : options.versionsManifests()) {
+			final ManifestEntryLocation version = getManifestEntry(location, true);
 
 			if (version != null) {
 				return version;
@@ -124,6 +133,47 @@ public final class MinecraftMetadataProvider {
 		throw new RuntimeException("Failed to find minecraft version: " + options.minecraftVersion());
 	}
 
+	@Nullable
+	private ManifestEntryLocation getCachedManifestEntry() throws IOException {
+		final List<CompletableFuture<ManifestEntryLocation>> futures = new ArrayList<>();
+		final ExecutorService executor = Executors.newCachedThreadPool();
+
+		try {
+			for (ManifestLocation location : options.versionsManifests()) {
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return getManifestEntry(location, false);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}, executor));
+			}
+
+			// Use the first match in priority order, failures of lower priority manifests are ignored when a match is found first.
+			for (CompletableFuture<ManifestEntryLocation> future : futures) {
+				final ManifestEntryLocation version;
+
+				try {
+					version = future.join();
+				} catch (CompletionException e) {
+					if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+						throw uncheckedIOException.getCause();
+					}
+
+					throw e;
+				}
+
+				if (version != null) {
+					return version;
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		return null;
+	}
+
 	private ManifestEntryLocation getManifestEntry(ManifestLocation location, boolean forceDownload) throws IOException {
 		DownloadBuilder builder = download.apply(location.url());
 
@@ -134,9 +184,8 @@ public final class MinecraftMetadataProvider {
 		}
 
 		final Path cacheFile = location.cacheFile(options.userCache());
-		final String versionManifest = builder.downloadString(cacheFile);
-		final VersionsManifest manifest = LoomGradlePlugin.GSON.fromJson(versionManifest, VersionsManifest.class);
-		final VersionsManifest.Version version = manifest.getVersion(options.minecraftVersion());
+		builder.downloadPath(cacheFile);
+		final VersionsManifest.Version version = VersionsManifestIndex.getOrCreate(cacheFile).getVersion(options.minecraftVersion());
 
 		if (version != null) {
 			return new ManifestEntryLocation(location, version);
@@ -180,7 +229,8 @@ public final class MinecraftMetadataProvider {
 					ManifestLocations versionsManifests,
 					@Nullable String customManifestUrl,
 					Path userCache,
-					Path workingDir) {
+					Path workingDir,
+					@Nullable Path versionsManifestIndex) {
 		public static Options create(String minecraftVersion, Project project) {
 			final LoomGradleExtension extension = LoomGradleExtension.get(project);
 			final Path userCache = extension.getFiles().getUserCache().toPath();
@@ -188,22 +238,21 @@ public final class MinecraftMetadataProvider {
 
 			final ManifestLocations manifestLocations = extension.getVersionsManifests();
 			final Property<String> customMetaUrl = extension.getCustomMinecraftMetadata();
+			final Path versionsManifestIndex = project.getProviders().gradleProperty(Constants.Properties.VERSIONS_MANIFEST_INDEX)
+					.map(path -> project.file(path).toPath())
+					.getOrNull();
 
 			return new Options(
 					minecraftVersion,
 					manifestLocations,
 					customMetaUrl.getOrNull(),
 					userCache,
-					workingDir
+					workingDir,
+					versionsManifestIndex
 			);
 		}
 	}
 
-	@FunctionalInterface
-	private interface ManifestEntrySupplier {
-		ManifestEntryLocation get() throws IOException;
-	}
-
 	private record ManifestEntryLocation(ManifestLocation manifest, VersionsManifest.Version entry) {
 	}
 }
@@ -0,0 +1,207 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.configuration.providers.minecraft;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.zip.ZipFile;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.gradle.api.Project;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.fabricmc.loom.LoomGradlePlugin;
+import net.fabricmc.loom.decompilers.cache.CachedFileStore;
+import net.fabricmc.loom.decompilers.cache.HttpCachedFileStore;
+import net.fabricmc.loom.decompilers.cache.SharedDirectoryCachedFileStore;
+import net.fabricmc.loom.util.Checksum;
+import net.fabricmc.loom.util.Constants;
+import net.fabricmc.loom.util.gradle.GradleUtils;
+
+/**
+ * A store for the intermediate Minecraft jars (merged, remapped and patched) that is shared between machines.
+ * Jars are stored under a key computed from everything that the jar is built from, so a jar found in the store is
+ * identical to the one that would be built locally.
+ *
+ * <p>The store is best effort, failing to read from or write to it only logs a warning and the jar is built locally.
+ */
+public final class SharedMinecraftJarStore {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SharedMinecraftJarStore.class);
+	// Bump when the way any of the stored jars are built changes, without the inputs changing
+	private static final String KEY_VERSION = "1";
+	private static final CachedFileStore.EntrySerializer<byte[]> SERIALIZER = new CachedFileStore.EntrySerializer<>() {
+		@Override
+		public byte[] read(Path path) throws IOException {
+			return Files.readAllBytes(path);
+		}
+
+		@Override
+		public void write(byte[] entry, Path path) throws IOException {
+			Files.write(path, entry);
+		}
+	};
+
+	private final CachedFileStore<byte[]> store;
+	private final boolean push;
+
+	private SharedMinecraftJarStore(CachedFileStore<byte[]> store, boolean push) {
+		this.store = store;
+		this.push = push;
+	}
+
+	/**
+	 * @return the shared jar store, or null when one has not been configured
+	 */
+	public static @Nullable SharedMinecraftJarStore get(Project project) {
+		final String location = project.getProviders().gradleProperty(Constants.Properties.SHARED_JAR_STORE).getOrNull();
+
+		if (location == null || location.isBlank()) {
+			return null;
+		}
+
+		final CachedFileStore<byte[]> store;
+
+		if (location.startsWith("http://") || location.startsWith("https://")) {
+			store = new HttpCachedFileStore<>(URI.create(location), SERIALIZER);
+		} else {
+			store = new SharedDirectoryCachedFileStore<>(project.file(location).toPath(), SERIALIZER);
+		}
+
+		return new SharedMinecraftJarStore(store, GradleUtils.getBooleanProperty(project, Constants.Properties.SHARED_JAR_STORE_PUSH));
+	}
+
+	public static Key key(String product) {
+		return new Key(product);
+	}
+
+	/**
+	 * Copies the jar with the given key from the store to the output path.
+	 *
+	 * @return true when the jar was found in the store
+	 */
+	public boolean restore(Key key, Path output) {
+		final String hash = key.hash();
+		final byte[] jar;
+
+		try {
+			jar = store.getEntry(hash);
+		} catch (IOException e) {
+			LOGGER.warn("Failed to read {} ({}) from the shared jar store", key.product, hash, e);
+			return false;
+		}
+
+		if (jar == null) {
+			LOGGER.info("{} ({}) was not found in the shared jar store", key.product, hash);
+			return false;
+		}
+
+		final Path tempPath = output.resolveSibling(output.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+		try {
+			Files.createDirectories(output.getParent());
+			Files.write(tempPath, jar);
+
+			// Make sure that a truncated or otherwise broken upload is never used
+			try (var zipFile = new ZipFile(tempPath.toFile())) {
+				zipFile.size();
+			}
+
+			Files.move(tempPath, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOGGER.warn("Ignoring invalid jar {} ({}) from the shared jar store", key.product, hash, e);
+			return false;
+		} finally {
+			try {
+				Files.deleteIfExists(tempPath);
+			} catch (IOException ignored) {
+				// Ignored
+			}
+		}
+
+		LOGGER.info("Restored {} ({}) from the shared jar store", key.product, hash);
+		return true;
+	}
+
+	/**
+	 * Puts the jar into the store when pushing to the store is enabled.
+	 */
+	public void store(Key key, Path jar) {
+		if (!push) {
+			return;
+		}
+
+		final String hash = key.hash();
+
+		try {
+			store.putEntry(hash, Files.readAllBytes(jar));
+		} catch (IOException e) {
+			LOGGER.warn("Failed to write {} ({}) to the shared jar store", key.product, hash, e);
+		}
+	}
+
+	/**
+	 * The inputs of a stored jar, each input is hashed in order into the key.
+	 */
+	public static final class Key {
+		private final String product;
+		private final Hasher hasher = Hashing.sha256().newHasher();
+		private String hash;
+
+		private Key(String product) {
+			this.product = product;
+			add(KEY_VERSION).add(LoomGradlePlugin.LOOM_VERSION).add(product);
+		}
+
+		public Key add(String value) {
+			if (hash != null) {
+				throw new IllegalStateException("Cannot add to a key that has already been hashed");
+			}
+
+			hasher.putInt(value.length());
+			hasher.putString(value, StandardCharsets.UTF_8);
+			return this;
+		}
+
+		public Key addFile(Path path) throws IOException {
+			return add(Checksum.sha1Hex(path));
+		}
+
+		private String hash() {
+			if (hash == null) {
+				hash = product + "/" + hasher.hash();
+			}
+
+			return hash;
+		}
+	}
+}
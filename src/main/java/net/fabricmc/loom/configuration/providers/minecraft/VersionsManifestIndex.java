@@ -0,0 +1,149 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.configuration.providers.minecraft;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.loom.LoomGradlePlugin;
+import net.fabricmc.loom.util.AttributeHelper;
+import net.fabricmc.loom.util.Checksum;
+
+/**
+ * A small lookup index of a versions manifest, mapping each version id to its metadata url and sha1.
+ *
+ * <p>The index is stored next to the downloaded manifest and rebuilt only when the manifest's ETag (or hash) changes,
+ * this avoids parsing the whole manifest json to look up a single version.
+ * The format is a header line followed by one tab separated {@code id url sha1} line per version, a prebuilt index can be used for offline builds.
+ */
+public record VersionsManifestIndex(String key, Map<String, VersionsManifest.Version> versions) {
+	private static final String HEADER = "loom-versions-index-v1";
+	private static final String E_TAG = "ETag";
+
+	public static VersionsManifestIndex getOrCreate(Path manifest) throws IOException {
+		final Path indexPath = manifest.resolveSibling(manifest.getFileName() + ".index");
+		final String key = getKey(manifest);
+
+		if (Files.exists(indexPath)) {
+			try {
+				final VersionsManifestIndex index = read(indexPath);
+
+				if (index.key().equals(key)) {
+					return index;
+				}
+			} catch (IOException | IllegalStateException e) {
+				// Rebuild the index below
+			}
+		}
+
+		final VersionsManifest versionsManifest = LoomGradlePlugin.GSON.fromJson(Files.readString(manifest, StandardCharsets.UTF_8), VersionsManifest.class);
+		final VersionsManifestIndex index = create(key, versionsManifest.versions());
+		index.write(indexPath);
+		return index;
+	}
+
+	public static VersionsManifestIndex create(String key, List<VersionsManifest.Version> versions) {
+		final Map<String, VersionsManifest.Version> versionMap = new LinkedHashMap<>();
+
+		for (VersionsManifest.Version version : versions) {
+			// Keep the first entry, to match VersionsManifest.getVersion
+			versionMap.putIfAbsent(version.id.toLowerCase(Locale.ROOT), version);
+		}
+
+		return new VersionsManifestIndex(key, versionMap);
+	}
+
+	public static VersionsManifestIndex read(Path path) throws IOException {
+		final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+
+		if (lines.isEmpty() || !lines.get(0).startsWith(HEADER + "\t")) {
+			throw new IllegalStateException("Invalid versions manifest index: " + path);
+		}
+
+		final Map<String, VersionsManifest.Version> versions = new LinkedHashMap<>();
+
+		for (String line : lines.subList(1, lines.size())) {
+			if (line.isEmpty()) {
+				continue;
+			}
+
+			final String[] parts = line.split("\t", -1);
+
+			if (parts.length != 3) {
+				throw new IllegalStateException("Invalid line in versions manifest index: " + line);
+			}
+
+			final VersionsManifest.Version version = new VersionsManifest.Version();
+			version.id = parts[0];
+			version.url = parts[1];
+			version.sha1 = parts[2].isEmpty() ? null : parts[2];
+			versions.putIfAbsent(version.id.toLowerCase(Locale.ROOT), version);
+		}
+
+		return new VersionsManifestIndex(lines.get(0).substring(HEADER.length() + 1), versions);
+	}
+
+	public void write(Path path) throws IOException {
+		// Write to a temp file first, other builds may be reading the index.
+		final Path tempPath = path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+		try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+			writer.write(HEADER + "\t" + key + "\n");
+
+			for (VersionsManifest.Version version : versions.values()) {
+				writer.write(version.id + "\t" + version.url + "\t" + (version.sha1 != null ? version.sha1 : "") + "\n");
+			}
+		}
+
+		Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@Nullable
+	public VersionsManifest.Version getVersion(String id) {
+		return versions.get(id.toLowerCase(Locale.ROOT));
+	}
+
+	private static String getKey(Path manifest) throws IOException {
+		final Optional<String> eTag = AttributeHelper.readAttribute(manifest, E_TAG);
+
+		if (eTag.isPresent()) {
+			return "etag:" + eTag.get();
+		}
+
+		return "sha1:" + Checksum.sha1Hex(manifest);
+	}
+}
@@ -52,8 +52,10 @@ import net.fabricmc.loom.configuration.providers.minecraft.MinecraftJar;
 import net.fabricmc.loom.configuration.providers.minecraft.MinecraftProvider;
 import net.fabricmc.loom.configuration.providers.minecraft.MinecraftSourceSets;
 import net.fabricmc.loom.configuration.providers.minecraft.MinecraftVersionMeta;
+import net.fabricmc.loom.configuration.providers.minecraft.SharedMinecraftJarStore;
 import net.fabricmc.loom.configuration.providers.minecraft.SignatureFixerApplyVisitor;
 import net.fabricmc.loom.extension.LoomFiles;
+import net.fabricmc.loom.util.MemoryBudget;
 import net.fabricmc.loom.util.SidedClassVisitor;
 import net.fabricmc.loom.util.TinyRemapperHelper;
 import net.fabricmc.loom.util.service.ScopedSharedServiceManager;
@@ -193,11 +195,45 @@ public abstract class AbstractMappedMinecraftProvider<M extends MinecraftProvide
 	private void remapInputs(List<RemappedJars> remappedJars, ConfigContext configContext) throws IOException {
 		cleanOutputs(remappedJars);
 
+		final SharedMinecraftJarStore jarStore = SharedMinecraftJarStore.get(getProject());
+
 		for (RemappedJars remappedJar : remappedJars) {
+			if (jarStore == null) {
+				remapJar(remappedJar, configContext);
+				continue;
+			}
+
+			final SharedMinecraftJarStore.Key jarStoreKey = getJarStoreKey(remappedJar);
+
+			if (jarStore.restore(jarStoreKey, remappedJar.outputJarPath())) {
+				getMavenHelper(remappedJar.type()).savePom();
+				continue;
+			}
+
 			remapJar(remappedJar, configContext);
+			jarStore.store(jarStoreKey, remappedJar.outputJarPath());
 		}
 	}
 
+	private SharedMinecraftJarStore.Key getJarStoreKey(RemappedJars remappedJars) throws IOException {
+		final MappingConfiguration mappingConfiguration = extension.getMappingConfiguration();
+		final SharedMinecraftJarStore.Key key = SharedMinecraftJarStore.key(getName(remappedJars.type()))
+				.add(getClass().getName())
+				.add(getVersion())
+				.add(remappedJars.sourceNamespace().toString())
+				.add(getTargetNamespace().toString())
+				.add(extension.getPlatform().get().name())
+				.add(MappingOption.forPlatform(extension).name())
+				.addFile(remappedJars.inputJar())
+				.addFile(mappingConfiguration.tinyMappings);
+
+		for (Path path : remappedJars.remapClasspath()) {
+			key.addFile(path);
+		}
+
+		return key;
+	}
+
 	private void remapJar(RemappedJars remappedJars, ConfigContext configContext) throws IOException {
 		final MappingConfiguration mappingConfiguration = extension.getMappingConfiguration();
 		final String fromM = remappedJars.sourceNamespace().toString();
@@ -216,7 +252,8 @@ public abstract class AbstractMappedMinecraftProvider<M extends MinecraftProvide
 			configureRemapper(remappedJars, builder);
 		}, classNames);
 
-		try (OutputConsumerPath outputConsumer = new OutputConsumerPath.Builder(remappedJars.outputJarPath()).build()) {
+		try (var lease = MemoryBudget.get().acquire("Remap minecraft", MemoryBudget.estimateJars(remappedJars.inputJar()));
+				OutputConsumerPath outputConsumer = new OutputConsumerPath.Builder(remappedJars.outputJarPath()).build()) {
 			outputConsumer.addNonClassFiles(remappedJars.inputJar());
 
 			for (Path path : remappedJars.remapClasspath()) {
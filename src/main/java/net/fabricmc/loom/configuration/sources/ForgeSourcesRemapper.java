@@ -28,14 +28,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
@@ -54,11 +57,13 @@ import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
 import net.fabricmc.loom.build.IntermediaryNamespaces;
 import net.fabricmc.loom.configuration.providers.mappings.TinyMappingsService;
 import net.fabricmc.loom.task.GenerateSourcesTask;
+import net.fabricmc.loom.util.Checksum;
 import net.fabricmc.loom.util.DeletingFileVisitor;
 import net.fabricmc.loom.util.DependencyDownloader;
 import net.fabricmc.loom.util.FileSystemUtil;
 import net.fabricmc.loom.util.ForgeToolExecutor;
 import net.fabricmc.loom.util.LoomVersions;
+import net.fabricmc.loom.util.Pair;
 import net.fabricmc.loom.util.SourceRemapper;
 import net.fabricmc.loom.util.ThreadingUtils;
 import net.fabricmc.loom.util.TinyRemapperHelper;
@@ -127,6 +132,17 @@ public class ForgeSourcesRemapper {
 	}
 
 	public static void provideForgeSources(Project project, SharedServiceManager serviceManager, Predicate<String> classFilter, BiConsumer<String, byte[]> consumer) throws IOException {
+		Map<String, byte[]> forgeSources = getRemappedForgeSources(project, serviceManager, classFilter);
+		project.getLogger().lifecycle(":extracted {} forge source classes", forgeSources.size());
+		forgeSources.forEach(consumer);
+	}
+
+	/**
+	 * Gets the remapped Forge sources matching the class filter. The remapped sources only depend on the
+	 * Forge sources and the mappings, so they are cached in the user cache and shared between projects.
+	 * The class filter is applied when reading the cached jar, only the filtered classes are ever read.
+	 */
+	private static Map<String, byte[]> getRemappedForgeSources(Project project, SharedServiceManager serviceManager, Predicate<String> classFilter) throws IOException {
 		LoomGradleExtension extension = LoomGradleExtension.get(project);
 		String sourceDependency = extension.getForgeUserdevProvider().getConfig().sources();
 		List<Path> forgeInstallerSources = new ArrayList<>();
@@ -137,14 +153,55 @@ public class ForgeSourcesRemapper {
 		}
 
 		project.getLogger().lifecycle(":found {} forge source jars", forgeInstallerSources.size());
-		Map<String, byte[]> forgeSources = extractSources(forgeInstallerSources);
-		forgeSources.keySet().removeIf(classFilter.negate());
-		project.getLogger().lifecycle(":extracted {} forge source classes", forgeSources.size());
-		remapSources(project, serviceManager, forgeSources);
-		forgeSources.forEach(consumer);
+
+		Path cacheDir = extension.getFiles().getUserCache().toPath().resolve("forge-sources");
+		Path cached = cacheDir.resolve(getCacheKey(extension, forgeInstallerSources) + ".jar");
+
+		if (Files.exists(cached) && !extension.refreshDeps()) {
+			project.getLogger().info("Using cached remapped forge sources: {}", cached);
+			return extractSources(List.of(cached), classFilter);
+		}
+
+		Map<String, byte[]> forgeSources = extractSources(forgeInstallerSources, path -> true);
+		int failedToRemap = remapSources(project, serviceManager, forgeSources);
+
+		// Only cache complete results, a failed remap should be retried by the next build.
+		if (failedToRemap == 0) {
+			// Write to a temp file first, other projects may be reading the same cache in parallel.
+			Files.createDirectories(cacheDir);
+			Path tempFile = cacheDir.resolve(cached.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+			try {
+				ZipUtils.add(tempFile, forgeSources.entrySet().stream()
+						.map(entry -> new Pair<>(entry.getKey(), entry.getValue()))
+						.toList());
+				Files.move(tempFile, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+
+		forgeSources.keySet().removeIf(path -> !classFilter.test(path));
+		return forgeSources;
 	}
 
-	private static void remapSources(Project project, SharedServiceManager serviceManager, Map<String, byte[]> sources) throws IOException {
+	private static String getCacheKey(LoomGradleExtension extension, List<Path> forgeInstallerSources) throws IOException {
+		StringBuilder key = new StringBuilder("v1");
+
+		for (Path path : forgeInstallerSources.stream().sorted().toList()) {
+			key.append('|').append(Checksum.sha1Hex(path));
+		}
+
+		// The mappings identifier contains the Minecraft and Forge versions, which are the rest of the remap classpath
+		key.append('|').append(extension.getMappingConfiguration().mappingsIdentifier());
+		key.append('|').append(MappingOption.forPlatform(extension));
+		return Checksum.sha1Hex(key.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @return the number of sources that failed to be remapped, these are removed from the sources
+	 */
+	private static int remapSources(Project project, SharedServiceManager serviceManager, Map<String, byte[]> sources) throws IOException {
 		File tmpInput = File.createTempFile("tmpInputForgeSources", null);
 		tmpInput.delete();
 		tmpInput.deleteOnExit();
@@ -213,6 +270,8 @@ public class ForgeSourcesRemapper {
 		if (failedToRemap[0] > 0) {
 			project.getLogger().error("Failed to remap {} forge sources", failedToRemap[0]);
 		}
+
+		return failedToRemap[0];
 	}
 
 	private static void remapForgeSourcesInner(Project project, SharedServiceManager serviceManager, Path tmpInput, Path tmpOutput) throws IOException {
@@ -270,7 +329,7 @@ public class ForgeSourcesRemapper {
 		}
 	}
 
-	private static Map<String, byte[]> extractSources(List<Path> forgeInstallerSources) throws IOException {
+	private static Map<String, byte[]> extractSources(List<Path> forgeInstallerSources, Predicate<String> classFilter) throws IOException {
 		Map<String, byte[]> sources = new ConcurrentHashMap<>();
 		ThreadingUtils.TaskCompleter taskCompleter = ThreadingUtils.taskCompleter();
 
@@ -279,7 +338,7 @@ public class ForgeSourcesRemapper {
 			taskCompleter.onComplete(stopwatch -> system.close());
 
 			for (Path filePath : (Iterable<? extends Path>) Files.walk(system.get().getPath("/"))::iterator) {
-				if (Files.isRegularFile(filePath) && filePath.getFileName().toString().endsWith(".java")) {
+				if (Files.isRegularFile(filePath) && filePath.getFileName().toString().endsWith(".java") && classFilter.test(filePath.toString())) {
 					taskCompleter.add(() -> sources.put(filePath.toString(), Files.readAllBytes(filePath)));
 				}
 			}
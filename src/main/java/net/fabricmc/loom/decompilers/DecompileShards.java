@@ -0,0 +1,178 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.decompilers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Splits a jar into shards that can be decompiled independently, and merges the decompiled shards back together.
+ */
+public final class DecompileShards {
+	private DecompileShards() {
+	}
+
+	/**
+	 * Splits the input jar into at most the given number of shard jars. Inner classes are kept in the same shard as
+	 * their outer class, and the classes are spread over the shards so that each shard has about the same size.
+	 * Entries that are not classes are all put into the first shard.
+	 *
+	 * @return the shard jars, written to the output directory
+	 */
+	public static List<Path> split(Path inputJar, Path outputDir, int shardCount) throws IOException {
+		try (ZipFile zipFile = new ZipFile(inputJar.toFile())) {
+			// Sorted by outer class name so that the shards are the same for the same input
+			final Map<String, List<ZipEntry>> groups = new TreeMap<>();
+			final List<ZipEntry> resources = new ArrayList<>();
+			final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+			while (entries.hasMoreElements()) {
+				final ZipEntry entry = entries.nextElement();
+
+				if (entry.isDirectory()) {
+					continue;
+				}
+
+				if (entry.getName().endsWith(".class")) {
+					groups.computeIfAbsent(getOuterClassName(entry.getName()), k -> new ArrayList<>()).add(entry);
+				} else {
+					resources.add(entry);
+				}
+			}
+
+			final List<List<ZipEntry>> shards = new ArrayList<>();
+			final long[] shardSizes = new long[Math.max(1, Math.min(shardCount, groups.size()))];
+
+			for (int i = 0; i < shardSizes.length; i++) {
+				shards.add(new ArrayList<>());
+			}
+
+			shards.get(0).addAll(resources);
+
+			// Largest groups first, each into the currently smallest shard
+			groups.values().stream()
+					.sorted(Comparator.comparingLong(DecompileShards::getSize).reversed())
+					.forEachOrdered(group -> {
+						int smallest = 0;
+
+						for (int i = 1; i < shardSizes.length; i++) {
+							if (shardSizes[i] < shardSizes[smallest]) {
+								smallest = i;
+							}
+						}
+
+						shards.get(smallest).addAll(group);
+						shardSizes[smallest] += getSize(group);
+					});
+
+			final List<Path> shardJars = new ArrayList<>();
+
+			for (int i = 0; i < shards.size(); i++) {
+				if (shards.get(i).isEmpty()) {
+					continue;
+				}
+
+				final Path shardJar = outputDir.resolve("shard-" + i + ".jar");
+				shardJars.add(shardJar);
+
+				try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(shardJar))) {
+					for (ZipEntry entry : shards.get(i)) {
+						copyEntry(zipFile, entry, zos);
+					}
+				}
+			}
+
+			return shardJars;
+		}
+	}
+
+	/**
+	 * Merges the decompiled shard jars into the output jar, the entries are written sorted by name.
+	 */
+	public static void merge(List<Path> shardJars, Path outputJar) throws IOException {
+		final List<ZipFile> zipFiles = new ArrayList<>();
+
+		try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(outputJar))) {
+			final Map<String, ZipFile> entries = new TreeMap<>();
+
+			for (Path shardJar : shardJars) {
+				if (Files.notExists(shardJar)) {
+					continue;
+				}
+
+				final ZipFile zipFile = new ZipFile(shardJar.toFile());
+				zipFiles.add(zipFile);
+				final Enumeration<? extends ZipEntry> shardEntries = zipFile.entries();
+
+				while (shardEntries.hasMoreElements()) {
+					entries.putIfAbsent(shardEntries.nextElement().getName(), zipFile);
+				}
+			}
+
+			for (Map.Entry<String, ZipFile> entry : entries.entrySet()) {
+				copyEntry(entry.getValue(), entry.getValue().getEntry(entry.getKey()), zos);
+			}
+		} finally {
+			for (ZipFile zipFile : zipFiles) {
+				zipFile.close();
+			}
+		}
+	}
+
+	private static String getOuterClassName(String entryName) {
+		final String className = entryName.substring(0, entryName.length() - ".class".length());
+		final int innerSeparator = className.indexOf('$', className.lastIndexOf('/') + 1);
+		return innerSeparator == -1 ? className : className.substring(0, innerSeparator);
+	}
+
+	private static long getSize(List<ZipEntry> entries) {
+		return entries.stream().mapToLong(entry -> Math.max(entry.getSize(), 0)).sum();
+	}
+
+	private static void copyEntry(ZipFile zipFile, ZipEntry entry, ZipOutputStream zos) throws IOException {
+		final ZipEntry newEntry = new ZipEntry(entry.getName());
+		newEntry.setTime(entry.getTime());
+		zos.putNextEntry(newEntry);
+
+		if (!entry.isDirectory()) {
+			try (InputStream is = zipFile.getInputStream(entry)) {
+				is.transferTo(zos);
+			}
+		}
+
+		zos.closeEntry();
+	}
+}
@@ -26,6 +26,9 @@ package net.fabricmc.loom.decompilers.cache;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -34,6 +37,34 @@ public interface CachedFileStore<T> {
 
 	void putEntry(String key, T entry) throws IOException;
 
+	/**
+	 * Gets the entries of all the given keys, stores that can look up several entries at once should override this.
+	 *
+	 * @return the found entries, keys without an entry are left out
+	 */
+	default Map<String, T> getEntries(Collection<String> keys) throws IOException {
+		Map<String, T> entries = new HashMap<>();
+
+		for (String key : keys) {
+			T entry = getEntry(key);
+
+			if (entry != null) {
+				entries.put(key, entry);
+			}
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Puts all of the given entries, stores that can write several entries at once should override this.
+	 */
+	default void putEntries(Map<String, T> entries) throws IOException {
+		for (Map.Entry<String, T> entry : entries.entrySet()) {
+			putEntry(entry.getKey(), entry.getValue());
+		}
+	}
+
 	interface EntrySerializer<T> {
 		T read(Path path) throws IOException;
 
@@ -28,7 +28,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,6 +39,8 @@ import java.util.stream.Stream;
 
 import org.jetbrains.annotations.Nullable;
 
+import net.fabricmc.loom.util.CacheRules;
+
 public record CachedFileStoreImpl<T>(Path root, EntrySerializer<T> entrySerializer, CacheRules cacheRules) implements CachedFileStore<T> {
 	public CachedFileStoreImpl {
 		Objects.requireNonNull(root, "root");
@@ -124,15 +125,6 @@ public record CachedFileStoreImpl<T>(Path root, EntrySerializer<T> entrySerializ
 		list.add(index, entry);
 	}
 
-	/**
-	 * The rules for the cache.
-	 *
-	 * @param maxFiles The maximum number of files in the cache
-	 * @param maxAge  The maximum age of a file in the cache
-	 */
-	public record CacheRules(long maxFiles, Duration maxAge) {
-	}
-
 	record PathEntry(Path path, FileTime lastModified) {
 		PathEntry(Path path) throws IOException {
 			this(path, Files.getLastModifiedTime(path));
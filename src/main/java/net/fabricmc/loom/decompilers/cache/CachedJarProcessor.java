@@ -30,8 +30,10 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.jetbrains.annotations.Nullable;
@@ -43,6 +45,8 @@ import net.fabricmc.loom.util.FileSystemUtil;
 
 public record CachedJarProcessor(CachedFileStore<CachedData> fileStore, String baseHash) {
 	private static final Logger LOGGER = LoggerFactory.getLogger(CachedJarProcessor.class);
+	// Large enough to keep the requests of a remote store busy, while not holding all of the sources in memory
+	private static final int PUT_BATCH_SIZE = 256;
 
 	public WorkRequest prepareJob(Path inputJar) throws IOException {
 		boolean isIncomplete = false;
@@ -70,12 +74,26 @@ public record CachedJarProcessor(CachedFileStore<CachedData> fileStore, String b
 				FileSystemUtil.Delegate existingClassesFs = FileSystemUtil.getJarFileSystem(existingClassesJar, true)) {
 			final List<ClassEntry> inputClasses = JarWalker.findClasses(inputFs);
 			final Map<String, String> rawEntryHashes = getEntryHashes(inputClasses, inputFs.getRoot());
+			final Map<ClassEntry, String> fullHashes = new LinkedHashMap<>();
+
+			for (ClassEntry entry : inputClasses) {
+				fullHashes.put(entry, baseHash + "/" + entry.hashSuperHierarchy(rawEntryHashes));
+			}
+
+			// Look up all the entries at once, so that stores backed by a remote server can batch the requests
+			final Map<String, CachedData> cachedEntries = fileStore.getEntries(fullHashes.values());
 
 			for (ClassEntry entry : inputClasses) {
 				String outputFileName = entry.sourcesFileName();
-				String fullHash = baseHash + "/" + entry.hashSuperHierarchy(rawEntryHashes);
+				String fullHash = fullHashes.get(entry);
 
-				final CachedData entryData = fileStore.getEntry(fullHash);
+				CachedData entryData = cachedEntries.get(fullHash);
+
+				if (entryData != null && !entryData.className().equals(outputFileName.substring(0, outputFileName.length() - ".java".length()))) {
+					// Entries from a shared cache are not trusted to match their key
+					LOGGER.warn("Cached entry ({}) is for {} but expected {}, ignoring it", fullHash, entryData.className(), outputFileName);
+					entryData = null;
+				}
 
 				if (entryData == null) {
 					// Cached entry was not found, so copy the input to the incomplete jar to be processed
@@ -137,6 +155,95 @@ public record CachedJarProcessor(CachedFileStore<CachedData> fileStore, String b
 		}
 	}
 
+	/**
+	 * Restricts a job to only process the given classes and their inner classes, used to quickly provide sources for a few classes.
+	 * The other classes that need processing are moved onto the classpath, and will be processed by a later full job.
+	 *
+	 * @param job The job to restrict
+	 * @param classNames The internal names of the outer classes to process
+	 * @return A job processing only the given classes, or a completed job if none of the classes need processing
+	 */
+	public WorkJob retainClasses(WorkToDoJob job, Set<String> classNames) throws IOException {
+		final Path incompleteJar = Files.createTempFile("loom-cache-incomplete", ".jar");
+		Files.delete(incompleteJar);
+
+		final Path existingClassesJar;
+		final Path existingSourcesJar;
+
+		if (job instanceof PartialWorkJob partialWorkJob) {
+			existingClassesJar = partialWorkJob.existingClasses();
+			existingSourcesJar = partialWorkJob.existingSources();
+		} else {
+			existingClassesJar = Files.createTempFile("loom-cache-existingClasses", ".jar");
+			existingSourcesJar = Files.createTempFile("loom-cache-existingSources", ".jar");
+			Files.delete(existingClassesJar);
+			Files.delete(existingSourcesJar);
+		}
+
+		final Map<String, String> outputNameMap = new HashMap<>();
+		int retained = 0;
+
+		try (FileSystemUtil.Delegate inputFs = FileSystemUtil.getJarFileSystem(job.incomplete(), false);
+				FileSystemUtil.Delegate incompleteFs = FileSystemUtil.getJarFileSystem(incompleteJar, true);
+				FileSystemUtil.Delegate existingClassesFs = FileSystemUtil.getJarFileSystem(existingClassesJar, true);
+				FileSystemUtil.Delegate existingSourcesFs = FileSystemUtil.getJarFileSystem(existingSourcesJar, true);
+				Stream<Path> walk = Files.walk(inputFs.getRoot())) {
+			Iterator<Path> iterator = walk.iterator();
+
+			while (iterator.hasNext()) {
+				final Path inputPath = iterator.next();
+
+				if (!Files.isRegularFile(inputPath)) {
+					continue;
+				}
+
+				final String fileName = inputPath.toString().substring(inputFs.getRoot().toString().length());
+
+				if (!fileName.endsWith(".class")) {
+					continue;
+				}
+
+				final int innerIndex = fileName.indexOf('$');
+				final String outerClass = fileName.substring(0, innerIndex == -1 ? fileName.length() - ".class".length() : innerIndex);
+				final boolean retain = classNames.contains(outerClass);
+				final Path outputPath = (retain ? incompleteFs : existingClassesFs).getRoot().resolve(fileName);
+
+				createParentDirectories(outputPath);
+				Files.copy(inputPath, outputPath);
+
+				if (retain && innerIndex == -1) {
+					final String sourcesFileName = outerClass + ".java";
+					outputNameMap.put(sourcesFileName, job.outputNameMap().get(sourcesFileName));
+					retained++;
+				}
+			}
+		}
+
+		if (retained == 0 && job instanceof FullWorkJob) {
+			// Nothing is cached, so there are no sources to complete the job with, process the whole jar instead
+			LOGGER.info("None of the requested classes need processing, processing the whole jar");
+			Files.delete(incompleteJar);
+			Files.delete(existingClassesJar);
+			Files.delete(existingSourcesJar);
+			return job;
+		}
+
+		if (job instanceof PartialWorkJob) {
+			// Only the incomplete jar of a partial job is a temporary file, for a full job it is the input jar
+			Files.delete(job.incomplete());
+		}
+
+		if (retained == 0) {
+			LOGGER.info("None of the requested classes need processing");
+			Files.delete(incompleteJar);
+			Files.delete(existingClassesJar);
+			return new CompletedWorkJob(existingSourcesJar);
+		}
+
+		LOGGER.info("Restricted job to {} classes", retained);
+		return new PartialWorkJob(incompleteJar, existingSourcesJar, existingClassesJar, job.output(), Collections.unmodifiableMap(outputNameMap));
+	}
+
 	private static Map<String, String> getEntryHashes(List<ClassEntry> entries, Path root) throws IOException {
 		final Map<String, String> rawEntryHashes = new HashMap<>();
 
@@ -164,6 +271,9 @@ public record CachedJarProcessor(CachedFileStore<CachedData> fileStore, String b
 			// Sources name -> hash
 			Map<String, String> outputNameMap = workToDoJob.outputNameMap();
 
+			// Entries are put in batches, allowing stores such as a remote cache to write them concurrently
+			final Map<String, CachedData> toPut = new HashMap<>();
+
 			try (FileSystemUtil.Delegate outputFs = FileSystemUtil.getJarFileSystem(workToDoJob.output(), false);
 					Stream<Path> walk = Files.walk(outputFs.getRoot())) {
 				Iterator<Path> iterator = walk.iterator();
@@ -200,11 +310,18 @@ public record CachedJarProcessor(CachedFileStore<CachedData> fileStore, String b
 					}
 
 					final var cachedData = new CachedData(className, sources, lineMapEntry);
-					fileStore.putEntry(hash, cachedData);
+					toPut.put(hash, cachedData);
+
+					if (toPut.size() >= PUT_BATCH_SIZE) {
+						fileStore.putEntries(toPut);
+						toPut.clear();
+					}
 
 					LOGGER.debug("Saving processed entry ({}) to cache: {}", hash, fsPath);
 				}
 			}
+
+			fileStore.putEntries(toPut);
 		} else {
 			throw new IllegalStateException();
 		}
@@ -0,0 +1,211 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.decompilers.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache store backed by a simple http key value server, entries are read with GET and written with PUT requests to
+ * {@code <baseUri>/<key>}. A 404 response is a missing entry.
+ */
+public final class HttpCachedFileStore<T> implements CachedFileStore<T> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(HttpCachedFileStore.class);
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+	private static final int MAX_CONCURRENT_REQUESTS = 64;
+
+	private final URI baseUri;
+	private final EntrySerializer<T> entrySerializer;
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(TIMEOUT)
+			.followRedirects(HttpClient.Redirect.NORMAL)
+			.build();
+
+	public HttpCachedFileStore(URI baseUri, EntrySerializer<T> entrySerializer) {
+		Objects.requireNonNull(baseUri, "baseUri");
+		this.baseUri = baseUri.toString().endsWith("/") ? baseUri : URI.create(baseUri + "/");
+		this.entrySerializer = entrySerializer;
+	}
+
+	@Override
+	public @Nullable T getEntry(String key) throws IOException {
+		return getEntries(List.of(key)).get(key);
+	}
+
+	/**
+	 * Looks up all the keys with concurrent requests, in batches to limit the number of open connections.
+	 */
+	@Override
+	public Map<String, T> getEntries(Collection<String> keys) throws IOException {
+		final Map<String, T> entries = new HashMap<>();
+		final List<String> keyList = new ArrayList<>(keys);
+
+		for (int i = 0; i < keyList.size(); i += MAX_CONCURRENT_REQUESTS) {
+			getEntries(keyList.subList(i, Math.min(keyList.size(), i + MAX_CONCURRENT_REQUESTS)), entries);
+		}
+
+		return entries;
+	}
+
+	private void getEntries(List<String> keys, Map<String, T> entries) throws IOException {
+		final Map<String, CompletableFuture<HttpResponse<byte[]>>> responses = new HashMap<>();
+
+		for (String key : keys) {
+			final HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(key))
+					.timeout(TIMEOUT)
+					.GET()
+					.build();
+			responses.put(key, httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+		}
+
+		for (Map.Entry<String, CompletableFuture<HttpResponse<byte[]>>> entry : responses.entrySet()) {
+			final HttpResponse<byte[]> response;
+
+			try {
+				response = entry.getValue().join();
+			} catch (CompletionException e) {
+				throw new IOException("Failed to get " + entry.getKey() + " from " + baseUri, e.getCause());
+			}
+
+			if (response.statusCode() == 404) {
+				continue;
+			} else if (response.statusCode() != 200) {
+				throw new IOException("Failed to get %s from %s, status code %d".formatted(entry.getKey(), baseUri, response.statusCode()));
+			}
+
+			final T value = deserialize(entry.getKey(), response.body());
+
+			if (value != null) {
+				entries.put(entry.getKey(), value);
+			}
+		}
+	}
+
+	@Override
+	public void putEntry(String key, T entry) throws IOException {
+		putEntries(Map.of(key, entry));
+	}
+
+	/**
+	 * Uploads all the entries with concurrent requests, in batches to limit the number of open connections.
+	 */
+	@Override
+	public void putEntries(Map<String, T> entries) throws IOException {
+		final List<Map.Entry<String, T>> entryList = new ArrayList<>(entries.entrySet());
+
+		for (int i = 0; i < entryList.size(); i += MAX_CONCURRENT_REQUESTS) {
+			putEntries(entryList.subList(i, Math.min(entryList.size(), i + MAX_CONCURRENT_REQUESTS)));
+		}
+	}
+
+	private void putEntries(List<Map.Entry<String, T>> entries) throws IOException {
+		final Map<String, CompletableFuture<HttpResponse<Void>>> responses = new HashMap<>();
+		final List<Path> tempFiles = new ArrayList<>();
+
+		try {
+			for (Map.Entry<String, T> entry : entries) {
+				final Path tempFile = Files.createTempFile("loom-cache-upload", ".bin");
+				tempFiles.add(tempFile);
+
+				// The serializer creates the file
+				Files.delete(tempFile);
+				entrySerializer.write(entry.getValue(), tempFile);
+
+				final HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(entry.getKey()))
+						.timeout(TIMEOUT)
+						.PUT(HttpRequest.BodyPublishers.ofFile(tempFile))
+						.build();
+				responses.put(entry.getKey(), httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+			}
+
+			IOException failure = null;
+
+			// Wait for every request before deleting the temp files, the first failure is thrown once they have all completed
+			for (Map.Entry<String, CompletableFuture<HttpResponse<Void>>> entry : responses.entrySet()) {
+				final HttpResponse<Void> response;
+
+				try {
+					response = entry.getValue().join();
+				} catch (CompletionException e) {
+					failure = failure != null ? failure : new IOException("Failed to put " + entry.getKey() + " to " + baseUri, e.getCause());
+					continue;
+				}
+
+				if (failure == null && response.statusCode() / 100 != 2) {
+					failure = new IOException("Failed to put %s to %s, status code %d".formatted(entry.getKey(), baseUri, response.statusCode()));
+				}
+			}
+
+			if (failure != null) {
+				throw failure;
+			}
+		} finally {
+			// Cancel the requests that were never waited for, when writing an entry failed
+			for (CompletableFuture<HttpResponse<Void>> response : responses.values()) {
+				response.cancel(true);
+			}
+
+			for (Path tempFile : tempFiles) {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+	}
+
+	private @Nullable T deserialize(String key, byte[] body) {
+		try {
+			final Path tempFile = Files.createTempFile("loom-cache-download", ".bin");
+
+			try {
+				Files.write(tempFile, body);
+				return entrySerializer.read(tempFile);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+		} catch (IOException | UncheckedIOException e) {
+			// Treat invalid entries as missing, a valid entry will replace it
+			LOGGER.warn("Ignoring invalid shared cache entry {}", key, e);
+			return null;
+		}
+	}
+}
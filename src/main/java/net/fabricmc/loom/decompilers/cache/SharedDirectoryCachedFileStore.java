@@ -0,0 +1,85 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.decompilers.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache store in a directory shared with other machines, such as a network drive.
+ * Entries are written to a temporary file first, so that other readers never see a partially written entry.
+ * Unlike {@link CachedFileStoreImpl} entries are never pruned or touched, as the directory may be read only.
+ */
+public record SharedDirectoryCachedFileStore<T>(Path root, EntrySerializer<T> entrySerializer) implements CachedFileStore<T> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SharedDirectoryCachedFileStore.class);
+
+	public SharedDirectoryCachedFileStore {
+		Objects.requireNonNull(root, "root");
+	}
+
+	@Override
+	public @Nullable T getEntry(String key) throws IOException {
+		Path path = root.resolve(key);
+
+		if (Files.notExists(path)) {
+			return null;
+		}
+
+		try {
+			return entrySerializer.read(path);
+		} catch (IOException e) {
+			// Treat invalid entries as missing, a valid entry will replace it
+			LOGGER.warn("Ignoring invalid shared cache entry {}", key, e);
+			return null;
+		}
+	}
+
+	@Override
+	public void putEntry(String key, T entry) throws IOException {
+		Path path = root.resolve(key);
+
+		if (Files.exists(path)) {
+			return;
+		}
+
+		Files.createDirectories(path.getParent());
+		Path tempPath = path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+		try {
+			entrySerializer.write(entry, tempPath);
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.decompilers.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache that reads through a local store to a shared store, such as a team wide directory or http server.
+ * Entries found in the shared store are copied into the local store, and new entries are optionally uploaded.
+ *
+ * <p>The shared store is best effort, failing to read from or write to it only logs a warning. After the first failed
+ * write no more entries are put into the shared store, as an unreachable server would otherwise time out on every batch.
+ */
+public final class TieredCachedFileStore<T> implements CachedFileStore<T> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TieredCachedFileStore.class);
+
+	private final CachedFileStore<T> local;
+	private final CachedFileStore<T> shared;
+	private volatile boolean writeShared;
+
+	/**
+	 * @param local The local store, always read first
+	 * @param shared The shared store
+	 * @param writeShared Whether new entries are also put into the shared store
+	 */
+	public TieredCachedFileStore(CachedFileStore<T> local, CachedFileStore<T> shared, boolean writeShared) {
+		this.local = local;
+		this.shared = shared;
+		this.writeShared = writeShared;
+	}
+
+	@Override
+	public @Nullable T getEntry(String key) throws IOException {
+		return getEntries(List.of(key)).get(key);
+	}
+
+	@Override
+	public Map<String, T> getEntries(Collection<String> keys) throws IOException {
+		final Map<String, T> entries = new HashMap<>(local.getEntries(keys));
+		final List<String> missing = new ArrayList<>();
+
+		for (String key : keys) {
+			if (!entries.containsKey(key)) {
+				missing.add(key);
+			}
+		}
+
+		if (missing.isEmpty()) {
+			return entries;
+		}
+
+		final Map<String, T> sharedEntries;
+
+		try {
+			sharedEntries = shared.getEntries(missing);
+		} catch (IOException e) {
+			LOGGER.warn("Failed to read from the shared decompile cache", e);
+			return entries;
+		}
+
+		LOGGER.info("Found {} of {} missing entries in the shared decompile cache", sharedEntries.size(), missing.size());
+
+		for (Map.Entry<String, T> entry : sharedEntries.entrySet()) {
+			local.putEntry(entry.getKey(), entry.getValue());
+		}
+
+		entries.putAll(sharedEntries);
+		return entries;
+	}
+
+	@Override
+	public void putEntry(String key, T entry) throws IOException {
+		putEntries(Map.of(key, entry));
+	}
+
+	@Override
+	public void putEntries(Map<String, T> entries) throws IOException {
+		local.putEntries(entries);
+
+		if (writeShared) {
+			try {
+				shared.putEntries(entries);
+			} catch (IOException e) {
+				writeShared = false;
+				LOGGER.warn("Failed to write {} entries to the shared decompile cache, no more entries will be written to it", entries.size(), e);
+			}
+		}
+	}
+}
@@ -29,7 +29,9 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -37,6 +39,8 @@ import javax.inject.Inject;
 
 import com.google.common.base.Suppliers;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.attributes.Usage;
 import org.gradle.api.configuration.BuildFeatures;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.FileCollection;
@@ -46,6 +50,7 @@ import org.gradle.api.provider.Provider;
 import net.fabricmc.loom.LoomGradleExtension;
 import net.fabricmc.loom.api.ForgeExtensionAPI;
 import net.fabricmc.loom.api.NeoForgeExtensionAPI;
+import net.fabricmc.loom.api.RemapConfigurationSettings;
 import net.fabricmc.loom.api.mappings.intermediate.IntermediateMappingsProvider;
 import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
 import net.fabricmc.loom.configuration.InstallerData;
@@ -76,6 +81,7 @@ public abstract class LoomGradleExtensionImpl extends LoomGradleExtensionApiImpl
 	private final ConfigurableFileCollection unmappedMods;
 
 	private final List<AccessWidenerFile> transitiveAccessWideners = new ArrayList<>();
+	private final Map<String, Configuration> remapSourceUsageCopies = new HashMap<>();
 
 	private LoomDependencyManager dependencyManager;
 	private MinecraftProvider minecraftProvider;
@@ -275,6 +281,19 @@ public abstract class LoomGradleExtensionImpl extends LoomGradleExtensionApiImpl
 		return transitiveAccessWideners;
 	}
 
+	@Override
+	public Configuration getRemapSourceUsageCopy(RemapConfigurationSettings settings, boolean runtime) {
+		synchronized (remapSourceUsageCopies) {
+			return remapSourceUsageCopies.computeIfAbsent(settings.getName() + (runtime ? ":runtime" : ":api"), $ -> {
+				final Configuration copy = settings.getSourceConfiguration().get().copyRecursive();
+				final Usage usage = project.getObjects().named(Usage.class, runtime ? Usage.JAVA_RUNTIME : Usage.JAVA_API);
+				copy.attributes(attributes -> attributes.attribute(Usage.USAGE_ATTRIBUTE, usage));
+				copy.setCanBeConsumed(false);
+				return copy;
+			});
+		}
+	}
+
 	@Override
 	public void addTransitiveAccessWideners(List<AccessWidenerFile> accessWidenerFiles) {
 		transitiveAccessWideners.addAll(accessWidenerFiles);
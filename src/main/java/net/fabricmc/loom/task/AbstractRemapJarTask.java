@@ -47,11 +47,13 @@ import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
-import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.bundling.ZipEntryCompression;
 import org.gradle.build.event.BuildEventsListenerRegistry;
@@ -73,9 +75,10 @@ import net.fabricmc.loom.util.gradle.SourceSetHelper;
 
 public abstract class AbstractRemapJarTask extends Jar {
 	@InputFile
+	@PathSensitive(PathSensitivity.NONE)
 	public abstract RegularFileProperty getInputFile();
 
-	@InputFiles
+	@Classpath
 	public abstract ConfigurableFileCollection getClasspath();
 
 	@Input
@@ -84,6 +87,13 @@ public abstract class AbstractRemapJarTask extends Jar {
 	@Input
 	public abstract Property<String> getTargetNamespace();
 
+	/**
+	 * The mappings the jar is remapped with, tracked so that a cached output is not reused when only the mappings change.
+	 */
+	@InputFile
+	@PathSensitive(PathSensitivity.NONE)
+	public abstract RegularFileProperty getMappingsFile();
+
 	/**
 	 * When enabled the TinyRemapperService will not be shared across sub projects.
 	 */
@@ -118,9 +128,14 @@ public abstract class AbstractRemapJarTask extends Jar {
 		getSourceNamespace().convention(MappingsNamespace.NAMED.toString()).finalizeValueOnRead();
 		getTargetNamespace().convention(getProject().provider(() -> IntermediaryNamespaces.runtimeIntermediary(getProject()))).finalizeValueOnRead();
 		getRemapperIsolation().convention(true).finalizeValueOnRead();
+		getMappingsFile().convention(getProject().getLayout().file(getProject().provider(() -> LoomGradleExtension.get(getProject()).getPlatformMappingFile().toFile()))).finalizeValueOnRead();
 		getIncludesClientOnlyClasses().convention(false).finalizeValueOnRead();
 		getJarType().finalizeValueOnRead();
 
+		// A shared remapper reads the classpath and inputs of every project using it, which are not inputs of this task.
+		final boolean multiProjectOptimisation = LoomGradleExtension.get(getProject()).multiProjectOptimisation();
+		getOutputs().doNotCacheIf("The remapper is shared with other projects", task -> multiProjectOptimisation && !getRemapperIsolation().get());
+
 		jarManifestServiceProvider = JarManifestService.get(getProject());
 		usesService(jarManifestServiceProvider);
 	}
@@ -233,6 +248,7 @@ public abstract class AbstractRemapJarTask extends Jar {
 
 	@Deprecated
 	@InputFile
+	@PathSensitive(PathSensitivity.NONE)
 	public RegularFileProperty getInput() {
 		return getInputFile();
 	}
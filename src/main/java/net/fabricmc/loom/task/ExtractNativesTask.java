@@ -25,28 +25,215 @@
 package net.fabricmc.loom.task;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import javax.inject.Inject;
 
-import org.gradle.api.tasks.Sync;
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import net.fabricmc.loom.LoomGradleExtension;
+import net.fabricmc.loom.util.Checksum;
 import net.fabricmc.loom.util.Constants;
 
-public abstract class ExtractNativesTask extends Sync {
+/**
+ * Extracts the natives once into a directory in the user cache that is keyed by the hash of the natives jars.
+ * The project natives directory is then populated with hard links to the shared files, falling back to copies when
+ * links are not supported. A manifest in the project natives directory records the key and the linked files, so that
+ * unchanged natives are not linked again while any missing file is restored.
+ */
+public abstract class ExtractNativesTask extends AbstractLoomTask {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ExtractNativesTask.class);
+	private static final String MANIFEST_NAME = ".loom-natives";
+
+	@InputFiles
+	@PathSensitive(PathSensitivity.NONE)
+	protected abstract ConfigurableFileCollection getNativesJars();
+
+	@Internal
+	protected abstract DirectoryProperty getSharedNativesDirectory();
+
+	@OutputDirectory
+	public abstract DirectoryProperty getNativesDirectory();
+
 	@Inject
 	public ExtractNativesTask() {
-		// Is there a lazy way to do this for many files? - Doesnt seem there is...
-		for (File nativeFile : getProject().getConfigurations().getByName(Constants.Configurations.MINECRAFT_NATIVES).getFiles()) {
-			from(getProject().zipTree(nativeFile), copySpec -> {
-				copySpec.exclude("META-INF/**");
+		getNativesJars().from(getProject().getConfigurations().named(Constants.Configurations.MINECRAFT_NATIVES));
+		getSharedNativesDirectory().set(new File(getExtension().getFiles().getUserCache(), "natives"));
+		getNativesDirectory().set(getExtension().getFiles().getNativesDirectory(getProject()));
+
+		setDescription("Downloads and extracts the minecraft natives");
+	}
+
+	@TaskAction
+	public void run() throws IOException {
+		final List<Path> jars = getNativesJars().getFiles().stream()
+				.map(File::toPath)
+				.sorted()
+				.toList();
+		final Path sharedNativesDir = getSharedNativesDirectory().get().getAsFile().toPath();
+		final Path nativesDir = getNativesDirectory().get().getAsFile().toPath();
+		extractNatives(jars, sharedNativesDir, nativesDir, Files::createLink);
+	}
+
+	@VisibleForTesting
+	public static void extractNatives(List<Path> jars, Path sharedNativesDir, Path nativesDir, Linker linker) throws IOException {
+		final String key = getKey(jars);
+		final Path manifest = nativesDir.resolve(MANIFEST_NAME);
+
+		if (isUpToDate(manifest, key, nativesDir)) {
+			LOGGER.info("Natives are up to date ({})", key);
+			return;
+		}
+
+		final Path sharedDir = sharedNativesDir.resolve(key);
+
+		if (Files.notExists(sharedDir)) {
+			extractShared(jars, sharedDir);
+		}
+
+		FileUtils.deleteDirectory(nativesDir.toFile());
+		Files.createDirectories(nativesDir);
+		final List<String> files = linkAll(sharedDir, nativesDir, linker);
+
+		// The first line is the key, followed by the files that were linked.
+		final List<String> lines = new ArrayList<>();
+		lines.add(key);
+		lines.addAll(files);
+		Files.write(manifest, lines, StandardCharsets.UTF_8);
+	}
+
+	// The natives directory may have been partially deleted, so also check that every linked file still exists.
+	private static boolean isUpToDate(Path manifest, String key, Path nativesDir) throws IOException {
+		if (Files.notExists(manifest)) {
+			return false;
+		}
+
+		final List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+
+		if (lines.isEmpty() || !lines.get(0).equals(key)) {
+			return false;
+		}
+
+		for (String file : lines.subList(1, lines.size())) {
+			if (!Files.isRegularFile(nativesDir.resolve(file))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static String getKey(List<Path> jars) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+
+		for (Path jar : jars) {
+			sb.append(Checksum.sha1Hex(jar)).append('\n');
+		}
+
+		return Checksum.sha256Hex(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Extract into a temporary directory first so that other projects never see a partially extracted directory.
+	private static void extractShared(List<Path> jars, Path sharedDir) throws IOException {
+		final Path tempDir = sharedDir.resolveSibling(sharedDir.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+		try {
+			Files.createDirectories(tempDir);
+
+			for (Path jar : jars) {
+				extract(jar, tempDir);
+			}
+
+			try {
+				Files.move(tempDir, sharedDir, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				// Moving onto a non-empty directory fails with a plain FileSystemException on some platforms
+				if (!Files.isDirectory(sharedDir)) {
+					throw e;
+				}
+
+				// Another project extracted the same natives at the same time
+			}
+		} finally {
+			if (Files.exists(tempDir)) {
+				FileUtils.deleteDirectory(tempDir.toFile());
+			}
+		}
+	}
+
+	private static void extract(Path jar, Path outputDir) throws IOException {
+		try (InputStream is = Files.newInputStream(jar);
+				ZipInputStream zis = new ZipInputStream(is)) {
+			ZipEntry entry;
+
+			while ((entry = zis.getNextEntry()) != null) {
+				if (entry.isDirectory() || entry.getName().startsWith("META-INF/")) {
+					continue;
+				}
+
 				// Fix pre LWJGL 3 versions on Macos. See: https://github.com/FabricMC/fabric-loom/issues/955
-				copySpec.rename(s -> s.replace(".jnilib", ".dylib"));
-			});
+				final Path output = outputDir.resolve(entry.getName().replace(".jnilib", ".dylib")).normalize();
+
+				if (!output.startsWith(outputDir)) {
+					throw new IOException("Natives jar %s contains an entry outside of the output directory: %s".formatted(jar, entry.getName()));
+				}
+
+				Files.createDirectories(output.getParent());
+				Files.copy(zis, output, StandardCopyOption.REPLACE_EXISTING);
+			}
 		}
+	}
 
-		into(LoomGradleExtension.get(getProject()).getFiles().getNativesDirectory(getProject()));
+	private static List<String> linkAll(Path sharedDir, Path nativesDir, Linker linker) throws IOException {
+		final List<Path> files;
 
-		setDescription("Downloads and extracts the minecraft natives");
+		try (Stream<Path> stream = Files.walk(sharedDir)) {
+			files = stream.filter(Files::isRegularFile).sorted().toList();
+		}
+
+		final List<String> linked = new ArrayList<>();
+
+		for (Path file : files) {
+			final String relativePath = sharedDir.relativize(file).toString();
+			final Path target = nativesDir.resolve(relativePath);
+			Files.createDirectories(target.getParent());
+
+			try {
+				linker.link(target, file);
+			} catch (IOException | UnsupportedOperationException e) {
+				// Hard links are not supported across file systems, or on some file systems at all
+				Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			linked.add(relativePath);
+		}
+
+		return linked;
+	}
+
+	@FunctionalInterface
+	public interface Linker {
+		void link(Path link, Path existing) throws IOException;
 	}
 }
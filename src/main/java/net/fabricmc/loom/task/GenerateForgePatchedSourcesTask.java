@@ -29,8 +29,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import codechicken.diffpatch.cli.CliOperation;
 import codechicken.diffpatch.cli.PatchOperation;
@@ -57,11 +61,15 @@ import net.fabricmc.loom.util.DependencyDownloader;
 import net.fabricmc.loom.util.FileSystemUtil;
 import net.fabricmc.loom.util.ForgeToolExecutor;
 import net.fabricmc.loom.util.SourceRemapper;
+import net.fabricmc.loom.util.ThreadingUtils;
+import net.fabricmc.loom.util.ZipUtils;
 import net.fabricmc.loom.util.service.ScopedSharedServiceManager;
 import net.fabricmc.loom.util.service.SharedServiceManager;
 
 // TODO: NeoForge support
 public abstract class GenerateForgePatchedSourcesTask extends AbstractLoomTask {
+	private static final String PATCH_EXTENSION = ".patch";
+
 	/**
 	 * The SRG Minecraft file produced by the MCP executor.
 	 */
@@ -108,7 +116,7 @@ public abstract class GenerateForgePatchedSourcesTask extends AbstractLoomTask {
 			// Step 2: patch with Forge patches
 			getLogger().lifecycle(":applying Forge patches");
 			Path patched = sourcePatch(cache, rawDecompiled);
-			// Step 3: remap
+			// Step 3: remap, Mercury reads the patched directory directly and writes the final sources jar
 			remap(patched, serviceManager);
 			// Step 4: add Forge's own sources
 			ForgeSourcesRemapper.addForgeSources(getProject(), serviceManager, null, getOutputJar().get().getAsFile().toPath());
@@ -135,15 +143,53 @@ public abstract class GenerateForgePatchedSourcesTask extends AbstractLoomTask {
 
 	private Path sourcePatch(Path cache, Path rawDecompiled) throws IOException {
 		ForgeUserdevProvider userdev = getExtension().getForgeUserdevProvider();
-		String patchPathInZip = userdev.getConfig().patches();
-		Path output = cache.resolve("patched.jar");
+		Path sources = cache.resolve("sources");
 		Path rejects = cache.resolve("rejects");
 
+		// Extract the decompiled sources once, they are patched in place and remapped from the directory.
+		ZipUtils.unpackAll(rawDecompiled, sources);
+
+		List<Map<String, byte[]>> groups = readPatchGroups(userdev, Runtime.getRuntime().availableProcessors());
+		List<Integer> exitCodes = ThreadingUtils.get(IntStream.range(0, groups.size())
+				.<ThreadingUtils.UnsafeCallable<Integer>>mapToObj(i -> () -> sourcePatchGroup(userdev, sources, cache.resolve("patch-" + i), rejects.resolve(Integer.toString(i)), groups.get(i)))
+				.toList());
+
+		if (exitCodes.stream().anyMatch(exitCode -> exitCode != 0)) {
+			throw new RuntimeException("Could not patch " + rawDecompiled + "; rejects saved to " + rejects.toAbsolutePath());
+		}
+
+		return sources;
+	}
+
+	/**
+	 * Applies a group of patches to the sources, only the files targeted by the group are copied into its
+	 * working directory so that the groups can be patched in parallel.
+	 */
+	private int sourcePatchGroup(ForgeUserdevProvider userdev, Path sources, Path workDir, Path rejects, Map<String, byte[]> patches) throws IOException {
+		Path base = workDir.resolve("base");
+		Path patchesDir = workDir.resolve("patches");
+		Path output = workDir.resolve("output");
+		Files.createDirectories(base);
+
+		for (Map.Entry<String, byte[]> entry : patches.entrySet()) {
+			Path patch = patchesDir.resolve(entry.getKey());
+			Files.createDirectories(patch.getParent());
+			Files.write(patch, entry.getValue());
+
+			String sourceName = entry.getKey().substring(0, entry.getKey().length() - PATCH_EXTENSION.length());
+			Path source = sources.resolve(sourceName);
+
+			if (Files.exists(source)) {
+				Path target = base.resolve(sourceName);
+				Files.createDirectories(target.getParent());
+				Files.move(source, target);
+			}
+		}
+
 		CliOperation.Result<PatchOperation.PatchesSummary> result = PatchOperation.builder()
 				.logTo(new LoggingOutputStream(getLogger(), LogLevel.INFO))
-				.basePath(rawDecompiled)
-				.patchesPath(userdev.getUserdevJar().toPath())
-				.patchesPrefix(patchPathInZip)
+				.basePath(base)
+				.patchesPath(patchesDir)
 				.outputPath(output)
 				.mode(PatchMode.ACCESS)
 				.rejectsPath(rejects)
@@ -152,11 +198,45 @@ public abstract class GenerateForgePatchedSourcesTask extends AbstractLoomTask {
 				.build()
 				.operate();
 
-		if (result.exit != 0) {
-			throw new RuntimeException("Could not patch " + rawDecompiled + "; rejects saved to " + rejects.toAbsolutePath());
+		if (Files.exists(output)) {
+			try (Stream<Path> stream = Files.walk(output)) {
+				for (Path file : (Iterable<Path>) stream.filter(Files::isRegularFile)::iterator) {
+					Path target = sources.resolve(output.relativize(file).toString());
+					Files.createDirectories(target.getParent());
+					Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		}
+
+		return result.exit;
+	}
+
+	/**
+	 * Reads the Forge source patches from the userdev jar and splits them into evenly sized groups.
+	 *
+	 * @return the groups of patches, keyed by the path of the patch relative to the patches directory
+	 */
+	private static List<Map<String, byte[]>> readPatchGroups(ForgeUserdevProvider userdev, int groupCount) throws IOException {
+		List<Map<String, byte[]>> groups = new ArrayList<>();
+
+		try (FileSystemUtil.Delegate fs = FileSystemUtil.getJarFileSystem(userdev.getUserdevJar(), false);
+				Stream<Path> stream = Files.walk(fs.getPath(userdev.getConfig().patches()))) {
+			Path root = fs.getPath(userdev.getConfig().patches());
+			List<Path> patches = stream.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(PATCH_EXTENSION))
+					.sorted()
+					.toList();
+
+			for (int i = 0; i < Math.min(groupCount, patches.size()); i++) {
+				groups.add(new HashMap<>());
+			}
+
+			for (int i = 0; i < patches.size(); i++) {
+				Path patch = patches.get(i);
+				groups.get(i % groups.size()).put(root.relativize(patch).toString(), Files.readAllBytes(patch));
+			}
 		}
 
-		return output;
+		return groups;
 	}
 
 	private void remap(Path input, SharedServiceManager serviceManager) {
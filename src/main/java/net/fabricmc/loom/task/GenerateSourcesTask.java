@@ -34,20 +34,25 @@ import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -57,9 +62,11 @@ import javax.inject.Inject;
 
 import net.fabricmc.mappingio.format.tiny.Tiny2FileWriter;
 
+import dev.architectury.loom.util.TempFiles;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.services.ServiceReference;
 import org.gradle.api.tasks.Input;
@@ -68,6 +75,7 @@ import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.OutputFiles;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
 import org.gradle.process.ExecOperations;
@@ -95,16 +103,24 @@ import net.fabricmc.loom.configuration.providers.minecraft.MinecraftJar;
 import net.fabricmc.loom.configuration.providers.minecraft.mapped.AbstractMappedMinecraftProvider;
 import net.fabricmc.loom.configuration.sources.ForgeSourcesRemapper;
 import net.fabricmc.loom.decompilers.ClassLineNumbers;
+import net.fabricmc.loom.decompilers.DecompileShards;
 import net.fabricmc.loom.decompilers.LineNumberRemapper;
 import net.fabricmc.loom.decompilers.cache.CachedData;
+import net.fabricmc.loom.decompilers.cache.CachedFileStore;
 import net.fabricmc.loom.decompilers.cache.CachedFileStoreImpl;
 import net.fabricmc.loom.decompilers.cache.CachedJarProcessor;
+import net.fabricmc.loom.decompilers.cache.HttpCachedFileStore;
+import net.fabricmc.loom.decompilers.cache.SharedDirectoryCachedFileStore;
+import net.fabricmc.loom.decompilers.cache.TieredCachedFileStore;
+import net.fabricmc.loom.util.CacheRules;
 import net.fabricmc.loom.util.Checksum;
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.loom.util.ExceptionUtil;
 import net.fabricmc.loom.util.FileSystemUtil;
 import net.fabricmc.loom.util.IOStringConsumer;
 import net.fabricmc.loom.util.Platform;
+import net.fabricmc.loom.util.ZipUtils;
+import net.fabricmc.loom.util.gradle.GradleUtils;
 import net.fabricmc.loom.util.gradle.SyncTaskBuildService;
 import net.fabricmc.loom.util.gradle.ThreadedProgressLoggerConsumer;
 import net.fabricmc.loom.util.gradle.ThreadedSimpleProgressLogger;
@@ -121,6 +137,7 @@ import net.fabricmc.mappingio.tree.MemoryMappingTree;
 public abstract class GenerateSourcesTask extends AbstractLoomTask {
 	private static final Logger LOGGER = LoggerFactory.getLogger(GenerateSourcesTask.class);
 	private static final String CACHE_VERSION = "v1";
+	private static final Duration PERSISTENT_WORKER_IDLE_TIMEOUT = Duration.ofMinutes(10);
 	private final DecompilerOptions decompilerOptions;
 
 	/**
@@ -135,6 +152,21 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 	@OutputFile
 	public abstract RegularFileProperty getOutputJar();
 
+	/**
+	 * Other jar names to decompile in the same job, sharing the decompile workers and the decompile cache.
+	 * Used to decompile the common and client only jars of split projects together.
+	 */
+	@Input
+	@ApiStatus.Internal
+	public abstract ListProperty<String> getAdditionalInputJarNames();
+
+	/**
+	 * The source jars of {@link #getAdditionalInputJarNames()}, in the same order.
+	 */
+	@OutputFiles
+	@ApiStatus.Internal
+	public abstract ConfigurableFileCollection getAdditionalOutputJars();
+
 	// Unpick
 	@InputFile
 	@Optional
@@ -167,6 +199,15 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 	@ApiStatus.Experimental
 	public abstract Property<Boolean> getResetCache();
 
+	/**
+	 * When set, only these classes and their inner classes are decompiled, all other classes are restored from the cache or left out.
+	 * This is used to quickly provide sources for the classes requested by an IDE, a later full run fills in the rest through the cache.
+	 */
+	@Input
+	@Option(option = "priority-class", description = "Only decompile the given classes, restoring the others from the cache")
+	@ApiStatus.Experimental
+	public abstract ListProperty<String> getPriorityClasses();
+
 	// Internal outputs
 	@ApiStatus.Internal
 	@Internal
@@ -185,7 +226,6 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 	// Prevent Gradle from running two gen sources tasks in parallel
 	@ServiceReference(SyncTaskBuildService.NAME)
 	abstract Property<SyncTaskBuildService> getSyncTask();
-
 	@Inject
 	public GenerateSourcesTask(DecompilerOptions decompilerOptions) {
 		this.decompilerOptions = decompilerOptions;
@@ -200,6 +240,16 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 
 		getUseCache().convention(true);
 		getResetCache().convention(extension.refreshDeps());
+		getPriorityClasses().convention(getProject().getProviders().gradleProperty(Constants.Properties.GEN_SOURCES_PRIORITY_CLASSES)
+				.map(GenerateSourcesTask::parseClassNames)
+				.orElse(List.of()));
+	}
+
+	private static List<String> parseClassNames(String value) {
+		return Arrays.stream(value.split(","))
+				.map(String::trim)
+				.filter(s -> !s.isEmpty())
+				.toList();
 	}
 
 	@TaskAction
@@ -211,9 +261,14 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 		}
 
 		if (!getUseCache().get()) {
+			if (!getPriorityClasses().get().isEmpty()) {
+				LOGGER.warn("Priority classes are ignored when the decompile cache is disabled, decompiling the whole jar.");
+			}
+
 			try (var timer = new Timer("Decompiled sources")) {
 				runWithoutCache();
 			} catch (Exception e) {
+				restorePreviousJars(e);
 				ExceptionUtil.processException(e, getProject());
 				throw ExceptionUtil.createDescriptiveWrapper(RuntimeException::new, "Failed to decompile", e);
 			}
@@ -239,133 +294,243 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 				runWithCache(fs.getRoot());
 			}
 		} catch (Exception e) {
+			restorePreviousJars(e);
 			ExceptionUtil.processException(e, getProject());
 			throw ExceptionUtil.createDescriptiveWrapper(RuntimeException::new, "Failed to decompile", e);
 		}
 	}
 
 	private void runWithCache(Path cacheRoot) throws IOException {
-		final MinecraftJar minecraftJar = rebuildInputJar();
-		final var cacheRules = new CachedFileStoreImpl.CacheRules(50_000, Duration.ofDays(90));
+		final List<MinecraftJar> minecraftJars = rebuildInputJars();
+		final List<Path> sourcesJars = getSourcesJars();
+		final var cacheRules = new CacheRules(50_000, Duration.ofDays(90));
 		final var decompileCache = new CachedFileStoreImpl<>(cacheRoot, CachedData.SERIALIZER, cacheRules);
 		final String cacheKey = getCacheKey();
-		final CachedJarProcessor cachedJarProcessor = new CachedJarProcessor(decompileCache, cacheKey);
-		final CachedJarProcessor.WorkRequest workRequest;
+		final CachedJarProcessor cachedJarProcessor = new CachedJarProcessor(withSharedCache(decompileCache), cacheKey);
+		final Set<String> priorityClasses = getPriorityClassNames();
+		final List<CachedJarProcessor.WorkRequest> workRequests = new ArrayList<>();
+		final List<CachedJarProcessor.WorkJob> jobs = new ArrayList<>();
+		final List<DecompileJob> decompileJobs = new ArrayList<>();
 
 		LOGGER.info("Decompile cache key: {}", cacheKey);
 
-		try (var timer = new Timer("Prepare job")) {
-			workRequest = cachedJarProcessor.prepareJob(minecraftJar.getPath());
-		}
+		for (MinecraftJar minecraftJar : minecraftJars) {
+			final CachedJarProcessor.WorkRequest workRequest;
 
-		final CachedJarProcessor.WorkJob job = workRequest.job();
-		final CachedJarProcessor.CacheStats cacheStats = workRequest.stats();
+			try (var timer = new Timer("Prepare job")) {
+				workRequest = cachedJarProcessor.prepareJob(minecraftJar.getPath());
+			}
 
-		getProject().getLogger().lifecycle("Decompile cache stats: {} hits, {} misses", cacheStats.hits(), cacheStats.misses());
+			CachedJarProcessor.WorkJob job = workRequest.job();
+			final CachedJarProcessor.CacheStats cacheStats = workRequest.stats();
 
-		ClassLineNumbers outputLineNumbers = null;
+			getProject().getLogger().lifecycle("Decompile cache stats: {} hits, {} misses", cacheStats.hits(), cacheStats.misses());
 
-		if (job instanceof CachedJarProcessor.WorkToDoJob workToDoJob) {
-			Path inputJar = workToDoJob.incomplete();
-			@Nullable Path existingClasses = (job instanceof CachedJarProcessor.PartialWorkJob partialWorkJob) ? partialWorkJob.existingClasses() : null;
+			if (!priorityClasses.isEmpty() && job instanceof CachedJarProcessor.WorkToDoJob workToDoJob) {
+				// Only decompile the requested classes now, the sources jar will contain them along with everything already cached.
+				// The remaining classes are decompiled and cached by the next full run.
+				getProject().getLogger().lifecycle("Only decompiling priority classes: {}", String.join(", ", priorityClasses));
+				job = cachedJarProcessor.retainClasses(workToDoJob, priorityClasses);
+			}
 
-			if (getUnpickDefinitions().isPresent()) {
-				try (var timer = new Timer("Unpick")) {
-					inputJar = unpickJar(inputJar, existingClasses);
+			if (job instanceof CachedJarProcessor.WorkToDoJob workToDoJob) {
+				Path inputJar = workToDoJob.incomplete();
+				@Nullable Path existingClasses = (job instanceof CachedJarProcessor.PartialWorkJob partialWorkJob) ? partialWorkJob.existingClasses() : null;
+
+				if (getUnpickDefinitions().isPresent()) {
+					try (var timer = new Timer("Unpick")) {
+						inputJar = unpickJar(inputJar, existingClasses, getUnpickOutputJarFor(minecraftJar));
+					}
 				}
-			}
 
-			try (var timer = new Timer("Decompile")) {
-				outputLineNumbers = runDecompileJob(inputJar, workToDoJob.output(), existingClasses);
-				removeForgeInnerClassSources(workToDoJob.output());
-				outputLineNumbers = filterForgeLineNumbers(outputLineNumbers);
+				decompileJobs.add(new DecompileJob(inputJar, workToDoJob.output(), existingClasses));
+			} else if (job instanceof CachedJarProcessor.CompletedWorkJob completedWorkJob) {
+				// Nothing to do :)
 			}
 
-			if (Files.notExists(workToDoJob.output())) {
-				throw new RuntimeException("Failed to decompile sources");
-			}
-		} else if (job instanceof CachedJarProcessor.CompletedWorkJob completedWorkJob) {
-			// Nothing to do :)
+			workRequests.add(workRequest);
+			jobs.add(job);
 		}
 
-		// The final output sources jar
-		final Path sourcesJar = getOutputJar().get().getAsFile().toPath();
-		Files.deleteIfExists(sourcesJar);
+		final List<ClassLineNumbers> decompiledLineNumbers;
 
-		try (var timer = new Timer("Complete job")) {
-			cachedJarProcessor.completeJob(sourcesJar, job, outputLineNumbers);
+		try (var timer = new Timer("Decompile")) {
+			decompiledLineNumbers = runDecompileJobs(decompileJobs);
 		}
 
-		LOGGER.info("Decompiled sources written to {}", sourcesJar);
+		int decompileJobIndex = 0;
 
-		// This is the minecraft jar used at runtime.
-		final Path classesJar = minecraftJar.getPath();
+		for (int i = 0; i < minecraftJars.size(); i++) {
+			final CachedJarProcessor.WorkJob job = jobs.get(i);
+			final ClassLineNumbers outputLineNumbers = job instanceof CachedJarProcessor.WorkToDoJob ? decompiledLineNumbers.get(decompileJobIndex++) : null;
 
-		// Remap the line numbers with the new and existing numbers
-		final ClassLineNumbers existingLinenumbers = workRequest.lineNumbers();
-		final ClassLineNumbers lineNumbers = ClassLineNumbers.merge(existingLinenumbers, outputLineNumbers);
+			// The final output sources jar
+			final Path sourcesJar = sourcesJars.get(i);
+			Files.deleteIfExists(sourcesJar);
 
-		if (lineNumbers == null) {
-			LOGGER.info("No line numbers to remap, skipping remapping");
-			return;
-		}
+			try (var timer = new Timer("Complete job")) {
+				cachedJarProcessor.completeJob(sourcesJar, job, outputLineNumbers);
+			}
 
-		Path tempJar = Files.createTempFile("loom", "linenumber-remap.jar");
-		Files.delete(tempJar);
+			LOGGER.info("Decompiled sources written to {}", sourcesJar);
 
-		try (var timer = new Timer("Remap line numbers")) {
-			remapLineNumbers(lineNumbers, classesJar, tempJar);
-		}
+			// Remap the line numbers with the new and existing numbers
+			final ClassLineNumbers existingLinenumbers = workRequests.get(i).lineNumbers();
+			final ClassLineNumbers lineNumbers = ClassLineNumbers.merge(existingLinenumbers, outputLineNumbers);
 
-		Files.move(tempJar, classesJar, StandardCopyOption.REPLACE_EXISTING);
+			// This is the minecraft jar used at runtime.
+			remapClassesJarLineNumbers(lineNumbers, minecraftJars.get(i).getPath());
+		}
 
 		try (var timer = new Timer("Prune cache")) {
 			decompileCache.prune();
 		}
 	}
 
+	private CachedFileStore<CachedData> withSharedCache(CachedFileStore<CachedData> localCache) {
+		final String location = getProject().getProviders().gradleProperty(Constants.Properties.SHARED_DECOMPILE_CACHE).getOrNull();
+
+		if (location == null || location.isBlank()) {
+			return localCache;
+		}
+
+		final CachedFileStore<CachedData> sharedCache;
+
+		if (location.startsWith("http://") || location.startsWith("https://")) {
+			sharedCache = new HttpCachedFileStore<>(URI.create(location), CachedData.SERIALIZER);
+		} else {
+			sharedCache = new SharedDirectoryCachedFileStore<>(getProject().file(location).toPath(), CachedData.SERIALIZER);
+		}
+
+		final boolean push = GradleUtils.getBooleanProperty(getProject(), Constants.Properties.SHARED_DECOMPILE_CACHE_PUSH);
+		LOGGER.info("Using shared decompile cache: {} (push: {})", location, push);
+		return new TieredCachedFileStore<>(localCache, sharedCache, push);
+	}
+
 	private void runWithoutCache() throws IOException {
-		final MinecraftJar minecraftJar = rebuildInputJar();
+		final List<MinecraftJar> minecraftJars = rebuildInputJars();
+		// The final output sources jars
+		final List<Path> sourcesJars = getSourcesJars();
+		final List<DecompileJob> decompileJobs = new ArrayList<>();
 
-		Path inputJar = minecraftJar.getPath();
-		// The final output sources jar
-		final Path sourcesJar = getOutputJar().get().getAsFile().toPath();
+		for (int i = 0; i < minecraftJars.size(); i++) {
+			Path inputJar = minecraftJars.get(i).getPath();
 
-		if (getUnpickDefinitions().isPresent()) {
-			try (var timer = new Timer("Unpick")) {
-				inputJar = unpickJar(inputJar, null);
+			if (getUnpickDefinitions().isPresent()) {
+				try (var timer = new Timer("Unpick")) {
+					inputJar = unpickJar(inputJar, null, getUnpickOutputJarFor(minecraftJars.get(i)));
+				}
 			}
+
+			decompileJobs.add(new DecompileJob(inputJar, sourcesJars.get(i), null));
 		}
 
-		ClassLineNumbers lineNumbers;
+		final List<ClassLineNumbers> lineNumbers;
 
 		try (var timer = new Timer("Decompile")) {
-			lineNumbers = runDecompileJob(inputJar, sourcesJar, null);
-			removeForgeInnerClassSources(sourcesJar);
-			lineNumbers = filterForgeLineNumbers(lineNumbers);
+			lineNumbers = runDecompileJobs(decompileJobs);
 		}
 
-		if (Files.notExists(sourcesJar)) {
-			throw new RuntimeException("Failed to decompile sources");
-		}
+		for (int i = 0; i < minecraftJars.size(); i++) {
+			LOGGER.info("Decompiled sources written to {}", sourcesJars.get(i));
 
-		LOGGER.info("Decompiled sources written to {}", sourcesJar);
+			// This is the minecraft jar used at runtime.
+			remapClassesJarLineNumbers(lineNumbers.get(i), minecraftJars.get(i).getPath());
+		}
+	}
 
+	private void remapClassesJarLineNumbers(@Nullable ClassLineNumbers lineNumbers, Path classesJar) throws IOException {
 		if (lineNumbers == null) {
 			LOGGER.info("No line numbers to remap, skipping remapping");
+			replaceClassesJarIfChanged(classesJar, classesJar);
 			return;
 		}
 
-		// This is the minecraft jar used at runtime.
-		final Path classesJar = minecraftJar.getPath();
 		final Path tempJar = Files.createTempFile("loom", "linenumber-remap.jar");
 		Files.delete(tempJar);
 
-		try (var timer = new Timer("Remap line numbers")) {
-			remapLineNumbers(lineNumbers, classesJar, tempJar);
+		try {
+			try (var timer = new Timer("Remap line numbers")) {
+				remapLineNumbers(lineNumbers, classesJar, tempJar);
+			}
+
+			replaceClassesJarIfChanged(tempJar, classesJar);
+		} finally {
+			Files.deleteIfExists(tempJar);
+		}
+	}
+
+	/**
+	 * Puts the new classes jar in place, unless it has the same contents as the jar from before it was rebuilt.
+	 * In that case the previous jar is put back, so that its timestamp is kept and Gradle and the IDE see no change.
+	 */
+	private static void replaceClassesJarIfChanged(Path newJar, Path classesJar) throws IOException {
+		final Path previousJar = getPreviousJar(classesJar);
+
+		try {
+			if (Files.exists(previousJar) && ZipUtils.contentEquals(previousJar, newJar)) {
+				LOGGER.info("Classes in {} are unchanged, keeping the existing jar", classesJar);
+				Files.move(previousJar, classesJar, StandardCopyOption.REPLACE_EXISTING);
+			} else if (!newJar.equals(classesJar)) {
+				Files.move(newJar, classesJar, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(previousJar);
+		}
+	}
+
+	private static Path getPreviousJar(Path classesJar) {
+		return classesJar.resolveSibling(classesJar.getFileName() + ".previous");
+	}
+
+	/**
+	 * Puts back any jar moved aside by {@link #rebuildInputJars()} that has not been consumed yet,
+	 * so that a failed rebuild, unpick or decompile leaves the named jars as they were.
+	 */
+	private void restorePreviousJars(Exception cause) {
+		for (MinecraftJar minecraftJar : getExtension().getNamedMinecraftProvider().getMinecraftJars()) {
+			final Path previousJar = getPreviousJar(minecraftJar.getPath());
+
+			if (!Files.exists(previousJar)) {
+				continue;
+			}
+
+			try {
+				Files.move(previousJar, minecraftJar.getPath(), StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				cause.addSuppressed(e);
+			}
+		}
+	}
+
+	// The sources jars of the input jar and the additional input jars, in the same order.
+	private List<Path> getSourcesJars() {
+		final List<Path> sourcesJars = new ArrayList<>();
+		sourcesJars.add(getOutputJar().get().getAsFile().toPath());
+
+		for (File file : getAdditionalOutputJars().getFiles()) {
+			sourcesJars.add(file.toPath());
+		}
+
+		return sourcesJars;
+	}
+
+	// The internal names of the outer classes to decompile first.
+	private Set<String> getPriorityClassNames() {
+		final Set<String> classNames = new LinkedHashSet<>();
+
+		for (String className : getPriorityClasses().get()) {
+			String internalName = className.replace('.', '/');
+			final int innerIndex = internalName.indexOf('$');
+
+			if (innerIndex != -1) {
+				internalName = internalName.substring(0, innerIndex);
+			}
+
+			classNames.add(internalName);
 		}
 
-		Files.move(tempJar, classesJar, StandardCopyOption.REPLACE_EXISTING);
+		return classNames;
 	}
 
 	private String getCacheKey() {
@@ -407,48 +572,143 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 		return sj.toString();
 	}
 
-	@Nullable
-	private ClassLineNumbers runDecompileJob(Path inputJar, Path outputJar, @Nullable Path existingJar) throws IOException {
-		final Platform platform = Platform.CURRENT;
-		final Path lineMapFile = File.createTempFile("loom", "linemap").toPath();
-		Files.delete(lineMapFile);
+	/**
+	 * Decompiles the given jars, all in the same work queue so that they are decompiled at the same time.
+	 *
+	 * @return the line numbers of each job, in the same order
+	 */
+	private List<ClassLineNumbers> runDecompileJobs(List<DecompileJob> jobs) throws IOException {
+		final int shardCount = getProject().getProviders().gradleProperty(Constants.Properties.DECOMPILE_SHARDS)
+				.map(Integer::parseInt)
+				.getOrElse(1);
+
+		try (var tempFiles = new TempFiles()) {
+			final List<List<DecompileShard>> jobShards = new ArrayList<>();
+			final List<Path> extraClasspath = new ArrayList<>();
+
+			for (DecompileJob job : jobs) {
+				if (shardCount > 1) {
+					jobShards.add(createShards(job.inputJar(), tempFiles.directory("loom-decompile-shards"), shardCount));
+				} else {
+					final Path lineMapFile = File.createTempFile("loom", "linemap").toPath();
+					Files.delete(lineMapFile);
+					jobShards.add(List.of(new DecompileShard(job.inputJar(), job.outputJar(), lineMapFile)));
+				}
 
-		if (!platform.supportsUnixDomainSockets()) {
-			getProject().getLogger().warn("Decompile worker logging disabled as Unix Domain Sockets is not supported on your operating system.");
+				if (job.existingJar() != null) {
+					extraClasspath.add(job.existingJar());
+				}
+
+				// The shards and the other jobs only see each other through the classpath
+				if (shardCount > 1 || jobs.size() > 1) {
+					extraClasspath.add(job.inputJar());
+				}
+			}
 
-			doWork(null, inputJar, outputJar, lineMapFile, existingJar);
+			final List<DecompileShard> shards = jobShards.stream().flatMap(List::stream).toList();
 
-			// Inject Forge's own sources
-			if (getExtension().isForgeLike()) {
-				try (var serviceManager = new ScopedSharedServiceManager()) {
-					ForgeSourcesRemapper.addForgeSources(getProject(), serviceManager, inputJar, outputJar);
+			if (shards.size() > 1) {
+				getProject().getLogger().lifecycle("Decompiling {} jars in {} shards", jobs.size(), shards.size());
+			}
+
+			// Split the decompiler threads between the shards, as they all run at the same time
+			final int maxThreads = Math.max(1, decompilerOptions.getMaxThreads().get() / Math.max(1, shards.size()));
+
+			if (!shards.isEmpty()) {
+				runDecompileWork(shards, extraClasspath, maxThreads);
+			}
+
+			final List<ClassLineNumbers> lineNumbers = new ArrayList<>();
+
+			for (int i = 0; i < jobs.size(); i++) {
+				final DecompileJob job = jobs.get(i);
+				ClassLineNumbers jobLineNumbers = null;
+
+				for (DecompileShard shard : jobShards.get(i)) {
+					jobLineNumbers = ClassLineNumbers.merge(jobLineNumbers, readLineNumbers(shard.linemapFile()));
+				}
+
+				if (shardCount > 1) {
+					Files.deleteIfExists(job.outputJar());
+					DecompileShards.merge(jobShards.get(i).stream().map(DecompileShard::outputJar).toList(), job.outputJar());
+				}
+
+				// Inject Forge's own sources
+				if (getExtension().isForgeLike()) {
+					try (var serviceManager = new ScopedSharedServiceManager()) {
+						ForgeSourcesRemapper.addForgeSources(getProject(), serviceManager, job.inputJar(), job.outputJar());
+					}
+				}
+
+				removeForgeInnerClassSources(job.outputJar());
+				lineNumbers.add(filterForgeLineNumbers(jobLineNumbers));
+
+				if (Files.notExists(job.outputJar())) {
+					throw new RuntimeException("Failed to decompile sources");
 				}
 			}
 
-			return readLineNumbers(lineMapFile);
+			return lineNumbers;
 		}
+	}
 
-		// Set up the IPC path to get the log output back from the forked JVM
-		final Path ipcPath = Files.createTempFile("loom", "ipc");
-		Files.deleteIfExists(ipcPath);
+	/**
+	 * Splits the input jar into shards that are decompiled in several worker JVMs at once.
+	 * The whole input jar is on the classpath of every shard, so references to classes of other shards still resolve.
+	 */
+	private static List<DecompileShard> createShards(Path inputJar, Path shardsDir, int shardCount) throws IOException {
+		final List<Path> shardJars = DecompileShards.split(inputJar, shardsDir, shardCount);
+		final List<DecompileShard> shards = new ArrayList<>();
 
-		try (ThreadedProgressLoggerConsumer loggerConsumer = new ThreadedProgressLoggerConsumer(getProject(), decompilerOptions.getName(), "Decompiling minecraft sources");
-				IPCServer logReceiver = new IPCServer(ipcPath, loggerConsumer)) {
-			doWork(logReceiver, inputJar, outputJar, lineMapFile, existingJar);
-		} catch (InterruptedException e) {
-			throw new RuntimeException("Failed to shutdown log receiver", e);
-		} finally {
-			Files.deleteIfExists(ipcPath);
+		for (int i = 0; i < shardJars.size(); i++) {
+			shards.add(new DecompileShard(shardJars.get(i), shardsDir.resolve("shard-" + i + "-sources.jar"), shardsDir.resolve("shard-" + i + ".linemap.txt")));
 		}
 
-		// Inject Forge's own sources
-		if (getExtension().isForgeLike()) {
-			try (var serviceManager = new ScopedSharedServiceManager()) {
-				ForgeSourcesRemapper.addForgeSources(getProject(), serviceManager, inputJar, outputJar);
+		return shards;
+	}
+
+	private void runDecompileWork(List<DecompileShard> shards, List<Path> extraClasspath, int maxThreads) throws IOException {
+		if (!Platform.CURRENT.supportsUnixDomainSockets()) {
+			getProject().getLogger().warn("Decompile worker logging disabled as Unix Domain Sockets is not supported on your operating system.");
+
+			doWork(shards, Collections.nCopies(shards.size(), null), extraClasspath, maxThreads);
+			return;
+		}
+
+		// Set up the IPC paths to get the log output back from the forked JVMs, one per shard
+		final List<ThreadedProgressLoggerConsumer> loggerConsumers = new ArrayList<>();
+		final List<IPCServer> logReceivers = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < shards.size(); i++) {
+				final Path ipcPath = Files.createTempFile("loom", "ipc");
+				Files.deleteIfExists(ipcPath);
+
+				final var loggerConsumer = new ThreadedProgressLoggerConsumer(getProject(), decompilerOptions.getName(), "Decompiling minecraft sources");
+				loggerConsumers.add(loggerConsumer);
+				logReceivers.add(new IPCServer(ipcPath, loggerConsumer));
 			}
+
+			doWork(shards, logReceivers, extraClasspath, maxThreads);
+		} finally {
+			for (IPCServer logReceiver : logReceivers) {
+				try {
+					logReceiver.close();
+				} catch (InterruptedException e) {
+					throw new RuntimeException("Failed to shutdown log receiver", e);
+				} finally {
+					Files.deleteIfExists(logReceiver.getPath());
+				}
+			}
+
+			loggerConsumers.forEach(ThreadedProgressLoggerConsumer::close);
 		}
+	}
+
+	private record DecompileJob(Path inputJar, Path outputJar, @Nullable Path existingJar) {
+	}
 
-		return readLineNumbers(lineMapFile);
+	private record DecompileShard(Path inputJar, Path outputJar, Path linemapFile) {
 	}
 
 	@Nullable
@@ -506,12 +766,23 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 		}
 	}
 
-	// Re-run the named minecraft provider to give us a fresh jar to decompile.
+	// Re-run the named minecraft provider to give us fresh jars to decompile.
 	// This prevents re-applying line maps on an existing jar.
-	private MinecraftJar rebuildInputJar() {
+	private List<MinecraftJar> rebuildInputJars() {
 		final List<MinecraftJar> minecraftJars;
+		final List<String> jarNames = new ArrayList<>();
+		jarNames.add(getInputJarName().get());
+		jarNames.addAll(getAdditionalInputJarNames().get());
 
 		try (var serviceManager = new ScopedSharedServiceManager()) {
+			// The rebuilt jars do not have remapped line numbers, keep the current jars so that they can be put back
+			// when the line numbers have not changed. This avoids invalidating the compile classpath and IDE indexes.
+			for (MinecraftJar minecraftJar : getExtension().getNamedMinecraftProvider().getMinecraftJars()) {
+				if (jarNames.contains(minecraftJar.getName()) && Files.exists(minecraftJar.getPath())) {
+					Files.move(minecraftJar.getPath(), getPreviousJar(minecraftJar.getPath()), StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+
 			final var configContext = new ConfigContextImpl(getProject(), serviceManager, getExtension());
 			final var provideContext = new AbstractMappedMinecraftProvider.ProvideContext(false, true, configContext);
 			minecraftJars = getExtension().getNamedMinecraftProvider().provide(provideContext);
@@ -519,20 +790,33 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 			throw ExceptionUtil.createDescriptiveWrapper(RuntimeException::new, "Failed to rebuild input jars", e);
 		}
 
-		for (MinecraftJar minecraftJar : minecraftJars) {
-			if (minecraftJar.getName().equals(getInputJarName().get())) {
-				return minecraftJar;
-			}
+		final List<MinecraftJar> inputJars = new ArrayList<>();
+
+		for (String jarName : jarNames) {
+			inputJars.add(minecraftJars.stream()
+					.filter(minecraftJar -> minecraftJar.getName().equals(jarName))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException("Could not find minecraft jar (%s) but got (%s)".formatted(
+							jarName,
+							minecraftJars.stream().map(MinecraftJar::getName).collect(Collectors.joining(", ")))
+					)));
 		}
 
-		throw new IllegalStateException("Could not find minecraft jar (%s) but got (%s)".formatted(
-				getInputJarName().get(),
-				minecraftJars.stream().map(MinecraftJar::getName).collect(Collectors.joining(", ")))
-		);
+		return inputJars;
 	}
 
-	private Path unpickJar(Path inputJar, @Nullable Path existingClasses) {
-		final Path outputJar = getUnpickOutputJar().get().getAsFile().toPath();
+	// The additional jars are unpicked next to the unpicked input jar
+	private Path getUnpickOutputJarFor(MinecraftJar minecraftJar) {
+		final Path unpickOutputJar = getUnpickOutputJar().get().getAsFile().toPath();
+
+		if (minecraftJar.getName().equals(getInputJarName().get())) {
+			return unpickOutputJar;
+		}
+
+		return unpickOutputJar.resolveSibling("minecraft-%s-unpicked.jar".formatted(minecraftJar.getName().toLowerCase(Locale.ROOT)));
+	}
+
+	private Path unpickJar(Path inputJar, @Nullable Path existingClasses, Path outputJar) {
 		final List<String> args = getUnpickArgs(inputJar, outputJar, existingClasses);
 
 		ExecResult result = getExecOperations().javaexec(spec -> {
@@ -600,48 +884,75 @@ public abstract class GenerateSourcesTask extends AbstractLoomTask {
 		LOGGER.info("Wrote linemap to {}", lineMap);
 	}
 
-	private void doWork(@Nullable IPCServer ipcServer, Path inputJar, Path outputJar, Path linemapFile, @Nullable Path existingClasses) {
-		final String jvmMarkerValue = UUID.randomUUID().toString();
+	private void doWork(List<DecompileShard> shards, List<IPCServer> ipcServers, List<Path> extraClasspath, int maxThreads) {
+		final boolean persistentWorker = useProcessIsolation() && GradleUtils.getBooleanProperty(getProject(), Constants.Properties.PERSISTENT_DECOMPILER_WORKER);
+		final String jvmMarkerValue = persistentWorker ? getPersistentWorkerMarker() : UUID.randomUUID().toString();
 		final WorkQueue workQueue = createWorkQueue(jvmMarkerValue);
 
 		ConfigurableFileCollection classpath = getProject().files();
 		classpath.from(getProject().getConfigurations().getByName(Constants.Configurations.MINECRAFT_COMPILE_LIBRARIES));
 
-		if (existingClasses != null) {
-			classpath.from(existingClasses);
-		}
+		classpath.from(extraClasspath);
 
-		workQueue.submit(DecompileAction.class, params -> {
-			params.getDecompilerOptions().set(decompilerOptions.toDto());
+		final DecompilerOptions.Dto dto = decompilerOptions.toDto();
+		final Path mappings = getMappings();
 
-			params.getInputJar().set(inputJar.toFile());
-			params.getOutputJar().set(outputJar.toFile());
-			params.getLinemapFile().set(linemapFile.toFile());
-			params.getMappings().set(getMappings().toFile());
+		for (int i = 0; i < shards.size(); i++) {
+			final DecompileShard shard = shards.get(i);
+			final @Nullable IPCServer ipcServer = ipcServers.get(i);
 
-			if (ipcServer != null) {
-				params.getIPCPath().set(ipcServer.getPath().toFile());
-			}
+			workQueue.submit(DecompileAction.class, params -> {
+				params.getDecompilerOptions().set(new DecompilerOptions.Dto(dto.className(), dto.options(), maxThreads));
 
-			params.getClassPath().setFrom(classpath);
+				params.getInputJar().set(shard.inputJar().toFile());
+				params.getOutputJar().set(shard.outputJar().toFile());
+				params.getLinemapFile().set(shard.linemapFile().toFile());
+				params.getMappings().set(mappings.toFile());
 
-			// Architectury
-			params.getForge().set(getExtension().isForgeLike());
-		});
+				if (ipcServer != null) {
+					params.getIPCPath().set(ipcServer.getPath().toFile());
+				}
+
+				params.getClassPath().setFrom(classpath);
+
+				// Architectury
+				params.getForge().set(getExtension().isForgeLike());
+			});
+		}
 
 		try {
 			workQueue.await();
 		} finally {
-			if (ipcServer != null) {
+			if (persistentWorker) {
+				// Keep the warm JVM for the next genSources run, Gradle also stops idle workers when memory is low.
+				WorkerDaemonClientsManagerHelper.stopIdleJVMLater(getWorkerDaemonClientsManager(), jvmMarkerValue, PERSISTENT_WORKER_IDLE_TIMEOUT);
+			} else if (ipcServers.stream().anyMatch(Objects::nonNull)) {
 				boolean stopped = WorkerDaemonClientsManagerHelper.stopIdleJVM(getWorkerDaemonClientsManager(), jvmMarkerValue);
 
-				if (!stopped && ipcServer.hasReceivedMessage()) {
+				if (!stopped && ipcServers.stream().anyMatch(ipcServer -> ipcServer != null && ipcServer.hasReceivedMessage())) {
 					LOGGER.info("Failed to stop decompile worker JVM, it may have already been stopped?");
 				}
 			}
 		}
 	}
 
+	/**
+	 * The JVM marker of a persistent decompile worker. Workers are only reused by runs with the same decompiler,
+	 * decompiler classpath and memory settings, which are the settings that the worker JVM is started with.
+	 */
+	private String getPersistentWorkerMarker() {
+		var sj = new StringJoiner(",");
+		sj.add(decompilerOptions.getDecompilerClassName().get());
+		sj.add(fileCollectionHash(getClasspath()));
+		sj.add(Long.toString(decompilerOptions.getMemory().get()));
+
+		try {
+			return "persistent-" + Checksum.sha256Hex(sj.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	private WorkQueue createWorkQueue(String jvmMarkerValue) {
 		if (!useProcessIsolation()) {
 			return getWorkerExecutor().classLoaderIsolation(spec -> {
@@ -29,13 +29,28 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import dev.architectury.loom.util.TempFiles;
 import org.cadixdev.lorenz.MappingSet;
 import org.cadixdev.mercury.Mercury;
+import org.cadixdev.mercury.RewriteContext;
+import org.cadixdev.mercury.SourceRewriter;
 import org.cadixdev.mercury.remapper.MercuryRemapper;
 import org.gradle.api.GradleException;
 import org.gradle.api.IllegalDependencyNotation;
@@ -43,12 +58,16 @@ import org.gradle.api.JavaVersion;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
+import org.gradle.internal.logging.progress.ProgressLogger;
+import org.gradle.internal.logging.progress.ProgressLoggerFactory;
 import org.gradle.work.DisableCachingByDefault;
+import org.jetbrains.annotations.Nullable;
 
 import net.fabricmc.loom.LoomGradleExtension;
 import net.fabricmc.loom.api.mappings.layered.MappingsNamespace;
@@ -56,7 +75,9 @@ import net.fabricmc.loom.configuration.providers.mappings.LayeredMappingSpecBuil
 import net.fabricmc.loom.configuration.providers.mappings.LayeredMappingsFactory;
 import net.fabricmc.loom.configuration.providers.mappings.MappingConfiguration;
 import net.fabricmc.loom.util.FileSystemUtil;
+import net.fabricmc.loom.util.MemoryBudget;
 import net.fabricmc.loom.util.SourceRemapper;
+import net.fabricmc.loom.util.ThreadingUtils;
 import net.fabricmc.loom.util.service.ScopedSharedServiceManager;
 import net.fabricmc.lorenztiny.TinyMappingsJoiner;
 import net.fabricmc.mappingio.MappingReader;
@@ -64,9 +85,15 @@ import net.fabricmc.mappingio.tree.MemoryMappingTree;
 
 @DisableCachingByDefault(because = "Always rerun this task.")
 public abstract class MigrateMappingsTask extends AbstractLoomTask {
+	// Rewriting too many files with a single Mercury instance uses a lot of memory
+	private static final int MAX_CHUNK_SIZE = 500;
+	// The compiler keeps the parsed sources and their bindings, which are many times larger than the source text
+	private static final long SOURCE_MEMORY_FACTOR = 10;
+
 	private Path inputDir;
 	private Path outputDir;
 	private String mappings;
+	private @Nullable Instant changedSince;
 
 	public MigrateMappingsTask() {
 		inputDir = getProject().file("src/main/java").toPath();
@@ -91,6 +118,15 @@ public abstract class MigrateMappingsTask extends AbstractLoomTask {
 		this.mappings = mappings;
 	}
 
+	@Option(option = "changed-since", description = "Only migrate the files modified after the given date or instant, in ISO-8601 format")
+	public void setChangedSince(String changedSince) {
+		try {
+			this.changedSince = Instant.parse(changedSince);
+		} catch (DateTimeParseException e) {
+			this.changedSince = LocalDate.parse(changedSince).atStartOfDay(ZoneId.systemDefault()).toInstant();
+		}
+	}
+
 	@InputFiles
 	public abstract ConfigurableFileCollection getCompileClasspath();
 
@@ -113,7 +149,7 @@ public abstract class MigrateMappingsTask extends AbstractLoomTask {
 		try (var serviceManager = new ScopedSharedServiceManager()) {
 			MemoryMappingTree currentMappings = mappingConfiguration.getMappingsService(serviceManager).getMappingTree();
 			MemoryMappingTree targetMappings = getMappings(mappings);
-			migrateMappings(project, extension, inputDir, outputDir, currentMappings, targetMappings);
+			migrateMappings(project, extension, inputDir, outputDir, currentMappings, targetMappings, changedSince);
 			project.getLogger().lifecycle(":remapped project written to " + outputDir.toAbsolutePath());
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Error while loading mappings", e);
@@ -172,7 +208,8 @@ public abstract class MigrateMappingsTask extends AbstractLoomTask {
 	}
 
 	private static void migrateMappings(Project project, LoomGradleExtension extension,
-										Path inputDir, Path outputDir, MemoryMappingTree currentMappings, MemoryMappingTree targetMappings
+										Path inputDir, Path outputDir, MemoryMappingTree currentMappings, MemoryMappingTree targetMappings,
+										@Nullable Instant changedSince
 	) throws IOException {
 		project.getLogger().info(":joining mappings");
 
@@ -183,38 +220,161 @@ public abstract class MigrateMappingsTask extends AbstractLoomTask {
 		).read();
 
 		project.getLogger().lifecycle(":remapping");
-		Mercury mercury = SourceRemapper.createMercuryWithClassPath(project, false);
 
+		// The classpath is resolved once and shared by the Mercury instance of every chunk
 		final JavaVersion javaVersion = project.getExtensions().getByType(JavaPluginExtension.class).getSourceCompatibility();
-		mercury.setSourceCompatibility(javaVersion.toString());
+		final List<Path> classPath = new ArrayList<>(SourceRemapper.createMercuryWithClassPath(project, false).getClassPath());
+		classPath.addAll(extension.getMinecraftJars(MappingsNamespace.INTERMEDIARY));
+		classPath.addAll(extension.getMinecraftJars(MappingsNamespace.NAMED));
 
-		for (Path intermediaryJar : extension.getMinecraftJars(MappingsNamespace.INTERMEDIARY)) {
-			mercury.getClassPath().add(intermediaryJar);
+		if (extension.isForge()) {
+			classPath.addAll(extension.getMinecraftJars(MappingsNamespace.SRG));
+		} else if (extension.isNeoForge()) {
+			classPath.addAll(extension.getMinecraftJars(MappingsNamespace.MOJANG));
 		}
 
-		for (Path intermediaryJar : extension.getMinecraftJars(MappingsNamespace.NAMED)) {
-			mercury.getClassPath().add(intermediaryJar);
+		final List<Path> files;
+
+		try (Stream<Path> stream = Files.walk(inputDir)) {
+			files = stream.filter(Files::isRegularFile).toList();
 		}
 
-		if (extension.isForge()) {
-			for (Path srgJar : extension.getMinecraftJars(MappingsNamespace.SRG)) {
-				mercury.getClassPath().add(srgJar);
-			}
-		} else if (extension.isNeoForge()) {
-			for (Path mojangJar : extension.getMinecraftJars(MappingsNamespace.MOJANG)) {
-				mercury.getClassPath().add(mojangJar);
+		final List<Path> changedFiles = new ArrayList<>();
+		final List<Path> unchangedFiles = new ArrayList<>();
+		long sourceBytes = 0;
+
+		for (Path file : files) {
+			sourceBytes += Files.size(file);
+
+			if (changedSince != null && Files.getLastModifiedTime(file).toInstant().isBefore(changedSince)) {
+				unchangedFiles.add(file);
+			} else {
+				changedFiles.add(file);
 			}
 		}
 
-		mercury.getProcessors().add(MercuryRemapper.create(mappingSet));
+		final List<List<Path>> chunks = createChunks(changedFiles);
+		final int fileCount = changedFiles.size();
+		// Every chunk can parse any file on the source path, and loads the classes it references from the classpath
+		final long chunkMemory = MemoryBudget.estimateJars(classPath.stream().filter(Files::isRegularFile).toArray(Path[]::new)) + sourceBytes * SOURCE_MEMORY_FACTOR;
+		final int threads = MemoryBudget.get().threads(chunkMemory);
+		final AtomicInteger remapped = new AtomicInteger();
+		final ProgressLoggerFactory progressLoggerFactory = ((ProjectInternal) project).getServices().get(ProgressLoggerFactory.class);
+		final ProgressLogger progressLogger = progressLoggerFactory.newOperation(MigrateMappingsTask.class.getName());
+		progressLogger.start("Migrating mappings", "migrate mappings");
+		project.getLogger().info(":remapping {} files in {} chunks on {} threads", fileCount, chunks.size(), threads);
+
+		try (var tempFiles = new TempFiles()) {
+			// Each file is copied into exactly one directory, the chunk being rewritten is the base directory and
+			// all of the other directories are on the source path so that references to other chunks resolve
+			final Path chunksDir = tempFiles.directory("migrate-mappings");
+			final List<Path> chunkDirs = new ArrayList<>();
+
+			for (int i = 0; i < chunks.size(); i++) {
+				chunkDirs.add(copyFiles(inputDir, chunks.get(i), chunksDir.resolve(Integer.toString(i))));
+			}
+
+			final Path unchangedDir = copyFiles(inputDir, unchangedFiles, chunksDir.resolve("unchanged"));
 
-		try {
-			mercury.rewrite(inputDir, outputDir);
-		} catch (Exception e) {
-			project.getLogger().warn("Could not remap fully!", e);
+			ThreadingUtils.run(threads, IntStream.range(0, chunks.size()).boxed().toList(), index -> {
+				final Path chunkDir = chunkDirs.get(index);
+
+				final Mercury mercury = new Mercury();
+				mercury.setGracefulClasspathChecks(true);
+				mercury.setSourceCompatibility(javaVersion.toString());
+				mercury.getClassPath().addAll(classPath);
+				mercury.getSourcePath().add(unchangedDir);
+
+				for (Path otherChunkDir : chunkDirs) {
+					if (otherChunkDir != chunkDir) {
+						mercury.getSourcePath().add(otherChunkDir);
+					}
+				}
+
+				// Mercury may complete the mappings while remapping, so each chunk gets its own copy
+				mercury.getProcessors().add(new ProgressReportingRewriter(MercuryRemapper.create(mappingSet.copy()), () -> {
+					final int count = remapped.incrementAndGet();
+
+					synchronized (progressLogger) {
+						progressLogger.progress("%d/%d files".formatted(count, fileCount));
+					}
+				}));
+
+				try (var lease = MemoryBudget.get().acquire("Remap sources", chunkMemory)) {
+					mercury.rewrite(chunkDir, outputDir);
+				} catch (Exception e) {
+					project.getLogger().warn("Could not remap fully!", e);
+				}
+			});
+		} finally {
+			progressLogger.completed();
 		}
 
 		project.getLogger().info(":cleaning file descriptors");
 		System.gc();
 	}
+
+	private static Path copyFiles(Path inputDir, List<Path> files, Path targetDir) throws IOException {
+		Files.createDirectories(targetDir);
+
+		for (Path file : files) {
+			final Path target = targetDir.resolve(inputDir.relativize(file).toString());
+			Files.createDirectories(target.getParent());
+			Files.copy(file, target);
+		}
+
+		return targetDir;
+	}
+
+	/**
+	 * Splits the files into chunks that can be remapped independently. Files of the same package are kept
+	 * in the same chunk, and the packages are spread over the chunks so that each chunk has about the same size.
+	 */
+	private static List<List<Path>> createChunks(List<Path> files) {
+		final Map<Path, List<Path>> packages = new HashMap<>();
+
+		for (Path file : files) {
+			packages.computeIfAbsent(file.getParent(), p -> new ArrayList<>()).add(file);
+		}
+
+		final int chunkCount = Math.min(packages.size(), Math.max(Runtime.getRuntime().availableProcessors(), (files.size() + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE));
+		final List<List<Path>> chunks = new ArrayList<>();
+
+		for (int i = 0; i < chunkCount; i++) {
+			chunks.add(new ArrayList<>());
+		}
+
+		// Largest packages first, each into the currently smallest chunk
+		packages.values().stream()
+				.sorted(Comparator.<List<Path>>comparingInt(List::size).reversed())
+				.forEach(packageFiles -> chunks.stream().min(Comparator.comparingInt(List::size)).orElseThrow().addAll(packageFiles));
+
+		return chunks;
+	}
+
+	/**
+	 * Reports progress once the wrapped rewriter has finished with each file.
+	 */
+	private record ProgressReportingRewriter(SourceRewriter rewriter, Runnable onRewritten) implements SourceRewriter {
+		@Override
+		public int getFlags() {
+			return rewriter.getFlags();
+		}
+
+		@Override
+		public void initialize(Mercury mercury) throws Exception {
+			rewriter.initialize(mercury);
+		}
+
+		@Override
+		public void rewrite(RewriteContext context) throws Exception {
+			rewriter.rewrite(context);
+			onRewritten.run();
+		}
+
+		@Override
+		public void finish(Mercury mercury) throws Exception {
+			rewriter.finish(mercury);
+		}
+	}
 }
@@ -29,23 +29,23 @@ import java.nio.file.Path;
 import javax.inject.Inject;
 
 import org.gradle.api.file.RegularFileProperty;
-import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
-import org.gradle.workers.WorkAction;
-import org.gradle.workers.WorkParameters;
-import org.gradle.workers.WorkQueue;
-import org.gradle.workers.WorkerExecutor;
 
 import net.fabricmc.loom.task.service.TinyRemapperService;
-import net.fabricmc.loom.util.service.UnsafeWorkQueueHelper;
 
 /**
  * The prepare remap task runs before all other jar remap tasks, should be used to setup tiny remapper.
+ *
+ * <p>The input is only registered with the shared remapper here, it is read once the first remap jar task using the remapper executes.
+ * This ensures that the remapper and its classpath are never loaded when all of the remap jar tasks are up-to-date or restored from the build cache.
  */
 public abstract class PrepareJarRemapTask extends AbstractLoomTask {
 	private final RemapJarTask remapJarTask;
 	@InputFile
+	@PathSensitive(PathSensitivity.NONE)
 	public abstract RegularFileProperty getInputFile();
 
 	@Inject
@@ -53,7 +53,7 @@ public abstract class PrepareJarRemapTask extends AbstractLoomTask {
 		this.remapJarTask = remapJarTask;
 
 		getInputFile().set(remapJarTask.getInputFile());
-		// TODO can this be up-to-date when the main task is up-to date?
+		// The registration is held in memory for the current build, so this must always run. This is cheap as nothing is read.
 		getOutputs().upToDateWhen((o) -> false);
 
 		getProject().getGradle().allprojects(project -> {
@@ -67,36 +67,9 @@ public abstract class PrepareJarRemapTask extends AbstractLoomTask {
 		});
 	}
 
-	@Inject
-	protected abstract WorkerExecutor getWorkerExecutor();
-
 	@TaskAction
 	public void run() {
-		final WorkQueue workQueue = getWorkerExecutor().noIsolation();
-
-		workQueue.submit(ReadInputsAction.class, params -> {
-			params.getTinyRemapperBuildServiceUuid().set(UnsafeWorkQueueHelper.create(remapJarTask.getTinyRemapperService()));
-			params.getInputFile().set(getInputFile());
-		});
-	}
-
-	public interface ReadInputsParams extends WorkParameters {
-		Property<String> getTinyRemapperBuildServiceUuid();
-		RegularFileProperty getInputFile();
-	}
-
-	public abstract static class ReadInputsAction implements WorkAction<ReadInputsParams> {
-		private final TinyRemapperService tinyRemapperService;
-
-		public ReadInputsAction() {
-			this.tinyRemapperService = UnsafeWorkQueueHelper.get(getParameters().getTinyRemapperBuildServiceUuid(), TinyRemapperService.class);
-		}
-
-		@Override
-		public void execute() {
-			final Path inputFile = getParameters().getInputFile().getAsFile().get().toPath();
-			prepare(tinyRemapperService, inputFile);
-		}
+		remapJarTask.registerPreparedInput(getInputFile().get().getAsFile().toPath());
 	}
 
 	static void prepare(TinyRemapperService tinyRemapperService, Path inputFile) {
@@ -56,9 +56,12 @@ import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.TaskProvider;
@@ -90,8 +93,10 @@ import net.fabricmc.loom.util.fmj.FabricModJsonUtils;
 import net.fabricmc.loom.util.service.BuildSharedServiceManager;
 import net.fabricmc.loom.util.service.UnsafeWorkQueueHelper;
 
+@CacheableTask
 public abstract class RemapJarTask extends AbstractRemapJarTask {
 	@InputFiles
+	@PathSensitive(PathSensitivity.NAME_ONLY)
 	public abstract ConfigurableFileCollection getNestedJars();
 
 	@Input
@@ -158,6 +163,8 @@ public abstract class RemapJarTask extends AbstractRemapJarTask {
 		getNestedJars().builtBy(processIncludeJars);
 
 		getUseMixinAP().set(LoomGradleExtension.get(getProject()).getMixin().getUseLegacyMixinAp());
+		// The legacy mixin AP mappings of every loom project are read by the remapper.
+		getOutputs().doNotCacheIf("The mixin mappings of other projects are used", task -> getUseMixinAP().get());
 
 		if (getLoomExtension().multiProjectOptimisation()) {
 			setupPreparationTask();
@@ -504,4 +511,8 @@ public abstract class RemapJarTask extends AbstractRemapJarTask {
 	public TinyRemapperService getTinyRemapperService() {
 		return TinyRemapperService.getOrCreate(serviceManagerProvider.get().get(), this);
 	}
+
+	void registerPreparedInput(Path inputFile) {
+		TinyRemapperService.registerInput(serviceManagerProvider.get().get(), this, inputFile);
+	}
 }
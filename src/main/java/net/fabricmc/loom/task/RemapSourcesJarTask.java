@@ -34,6 +34,7 @@ import javax.inject.Inject;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.TaskAction;
 import org.jetbrains.annotations.Nullable;
@@ -44,6 +45,7 @@ import net.fabricmc.loom.task.service.SourceRemapperService;
 import net.fabricmc.loom.util.service.BuildSharedServiceManager;
 import net.fabricmc.loom.util.service.UnsafeWorkQueueHelper;
 
+@CacheableTask
 public abstract class RemapSourcesJarTask extends AbstractRemapJarTask {
 	private final Provider<BuildSharedServiceManager> serviceManagerProvider;
 
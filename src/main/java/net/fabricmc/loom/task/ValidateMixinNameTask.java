@@ -25,24 +25,42 @@
 package net.fabricmc.loom.task;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.util.LinkedList;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 
 import javax.inject.Inject;
 
 import org.gradle.api.GradleException;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
 import org.gradle.api.tasks.SourceTask;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
 import org.gradle.workers.WorkAction;
 import org.gradle.workers.WorkParameters;
 import org.gradle.workers.WorkQueue;
@@ -55,8 +73,6 @@ import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.tinyremapper.extension.mixin.common.data.Constant;
@@ -72,9 +88,28 @@ import net.fabricmc.tinyremapper.extension.mixin.common.data.Constant;
  * }</pre>
  */
 public abstract class ValidateMixinNameTask extends SourceTask {
+	// Every class with a @Mixin annotation has this descriptor in its constant pool
+	private static final byte[] MIXIN_DESCRIPTOR = "Lorg/spongepowered/asm/mixin/Mixin;".getBytes(StandardCharsets.UTF_8);
+
 	@Input
 	abstract Property<Boolean> getSoftFailures();
 
+	/**
+	 * The class files of {@link #getSource()}, as a stable file collection so that changes to them can be queried.
+	 */
+	@InputFiles
+	@SkipWhenEmpty
+	@IgnoreEmptyDirectories
+	@Incremental
+	@PathSensitive(PathSensitivity.RELATIVE)
+	protected abstract ConfigurableFileCollection getInputClasses();
+
+	/**
+	 * The validation errors of each class file, kept between runs so that only the changed classes need to be validated.
+	 */
+	@OutputFile
+	protected abstract RegularFileProperty getVerdictsFile();
+
 	@Inject
 	protected abstract WorkerExecutor getWorkerExecutor();
 
@@ -83,32 +118,116 @@ public abstract class ValidateMixinNameTask extends SourceTask {
 		setGroup("verification");
 		getProject().getTasks().getByName("check").dependsOn(this);
 		getSoftFailures().convention(false);
+		getInputClasses().from((Callable<FileTree>) () -> getSource().matching(pattern -> pattern.include("**/*.class")));
+		getVerdictsFile().convention(getProject().getLayout().getBuildDirectory().file("loom-cache/" + getName() + "/verdicts.txt"));
+	}
+
+	@Override
+	@Internal
+	public FileTree getSource() {
+		return super.getSource();
 	}
 
 	@TaskAction
-	public void run() {
+	public void run(InputChanges inputChanges) throws IOException {
+		final Path verdictsFile = getVerdictsFile().get().getAsFile().toPath();
+		final Map<String, String> errors = new TreeMap<>();
+
+		if (inputChanges.isIncremental()) {
+			errors.putAll(readVerdicts(verdictsFile));
+		}
+
+		final List<File> changedClasses = new ArrayList<>();
+
+		for (FileChange change : inputChanges.getFileChanges(getInputClasses())) {
+			if (change.getFileType() != FileType.FILE) {
+				continue;
+			}
+
+			errors.remove(change.getFile().getAbsolutePath());
+
+			if (change.getChangeType() != ChangeType.REMOVED) {
+				changedClasses.add(change.getFile());
+			}
+		}
+
+		// Split the changed classes into one work item per processor
 		final WorkQueue workQueue = getWorkerExecutor().noIsolation();
+		final int workItems = Math.min(changedClasses.size(), Runtime.getRuntime().availableProcessors());
+		final List<Path> results = new ArrayList<>();
+
+		for (int i = 0; i < workItems; i++) {
+			final List<File> classes = new ArrayList<>();
 
-		workQueue.submit(ValidateMixinAction.class, params -> {
-			params.getInputClasses().from(getSource().matching(pattern -> pattern.include("**/*.class")));
-			params.getSoftFailures().set(getSoftFailures());
-		});
+			for (int j = i; j < changedClasses.size(); j += workItems) {
+				classes.add(changedClasses.get(j));
+			}
+
+			final Path result = getTemporaryDir().toPath().resolve("verdicts-" + i + ".txt");
+			results.add(result);
+
+			workQueue.submit(ValidateMixinAction.class, params -> {
+				params.getInputClasses().from(classes);
+				params.getOutputFile().set(result.toFile());
+			});
+		}
+
+		workQueue.await();
+
+		for (Path result : results) {
+			errors.putAll(readVerdicts(result));
+		}
+
+		writeVerdicts(verdictsFile, errors);
+
+		if (errors.isEmpty()) {
+			return;
+		}
+
+		final String message = "Mixin name validation failed: " + String.join(System.lineSeparator(), errors.values());
+
+		if (getSoftFailures().get()) {
+			getLogger().warn(message);
+			return;
+		}
+
+		throw new GradleException(message);
+	}
+
+	private static Map<String, String> readVerdicts(Path path) throws IOException {
+		final Map<String, String> verdicts = new HashMap<>();
+
+		if (Files.notExists(path)) {
+			return verdicts;
+		}
+
+		for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+			final int separator = line.indexOf('\t');
+
+			if (separator != -1) {
+				verdicts.put(line.substring(0, separator), line.substring(separator + 1));
+			}
+		}
+
+		return verdicts;
+	}
+
+	private static void writeVerdicts(Path path, Map<String, String> verdicts) throws IOException {
+		Files.createDirectories(path.getParent());
+		Files.write(path, verdicts.entrySet().stream().map(entry -> entry.getKey() + "\t" + entry.getValue()).toList(), StandardCharsets.UTF_8);
 	}
 
 	public interface ValidateMixinsParams extends WorkParameters {
 		ConfigurableFileCollection getInputClasses();
-		Property<Boolean> getSoftFailures();
+		RegularFileProperty getOutputFile();
 	}
 
 	public abstract static class ValidateMixinAction implements WorkAction<ValidateMixinsParams> {
-		public static final Logger LOGGER = LoggerFactory.getLogger(ValidateMixinAction.class);
-
 		@Override
 		public void execute() {
-			final Set<File> files = getParameters().getInputClasses().getAsFileTree().getFiles();
-			final List<String> errors = new LinkedList<>();
+			final Map<String, String> errors = new HashMap<>();
 
-			for (File file : files) {
+			for (File file : getParameters().getInputClasses().getFiles()) {
 				final Mixin mixin = getMixin(file);
 
 				if (mixin == null) {
@@ -124,22 +243,15 @@ public abstract class ValidateMixinNameTask extends SourceTask {
 				}
 
 				if (!expectedMixinClassName.equals(mixinClassName)) {
-					errors.add("%s -> %s".formatted(mixin.className, expectedMixinClassName));
+					errors.put(file.getAbsolutePath(), "%s -> %s".formatted(mixin.className, expectedMixinClassName));
 				}
 			}
 
-			if (errors.isEmpty()) {
-				return;
+			try {
+				writeVerdicts(getParameters().getOutputFile().get().getAsFile().toPath(), errors);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to write mixin validation results", e);
 			}
-
-			final String message = "Mixin name validation failed: " + errors.stream().collect(Collectors.joining(System.lineSeparator()));
-
-			if (getParameters().getSoftFailures().get()) {
-				LOGGER.warn(message);
-				return;
-			}
-
-			throw new GradleException("Mixin name validation failed: " + errors.stream().collect(Collectors.joining(System.lineSeparator())));
 		}
 	}
 
@@ -156,18 +268,29 @@ public abstract class ValidateMixinNameTask extends SourceTask {
 
 	@Nullable
 	private static Mixin getMixin(File file) {
-		try (InputStream is = new FileInputStream(file)) {
-			return getMixin(is);
+		final byte[] bytes;
+
+		try {
+			bytes = Files.readAllBytes(file.toPath());
 		} catch (IOException e) {
 			throw new UncheckedIOException("Failed to read input file: " + file, e);
 		}
+
+		if (!mayBeMixin(bytes)) {
+			return null;
+		}
+
+		return getMixin(new ClassReader(bytes));
 	}
 
 	@Nullable
 	@VisibleForTesting
 	public static Mixin getMixin(InputStream is) throws IOException {
-		final ClassReader reader = new ClassReader(is);
+		return getMixin(new ClassReader(is));
+	}
 
+	@Nullable
+	private static Mixin getMixin(ClassReader reader) {
 		var classVisitor = new MixinTargetClassVisitor();
 		reader.accept(classVisitor, ClassReader.SKIP_CODE);
 
@@ -178,6 +301,26 @@ public abstract class ValidateMixinNameTask extends SourceTask {
 		return null;
 	}
 
+	/**
+	 * Checks whether the class file contains the {@code @Mixin} descriptor, without parsing the class.
+	 * The descriptor is plain ASCII, so it is stored as-is in the constant pool.
+	 */
+	@VisibleForTesting
+	public static boolean mayBeMixin(byte[] classBytes) {
+		outer:
+		for (int i = 0; i <= classBytes.length - MIXIN_DESCRIPTOR.length; i++) {
+			for (int j = 0; j < MIXIN_DESCRIPTOR.length; j++) {
+				if (classBytes[i + j] != MIXIN_DESCRIPTOR[j]) {
+					continue outer;
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
 	private static class MixinTargetClassVisitor extends ClassVisitor {
 		Type mixinTarget;
 		String className;
@@ -44,6 +44,7 @@ import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.logging.configuration.ConsoleOutput;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
@@ -54,7 +55,6 @@ import org.gradle.api.tasks.TaskAction;
 import org.jetbrains.annotations.ApiStatus;
 
 import net.fabricmc.loom.LoomGradleExtension;
-import net.fabricmc.loom.LoomGradlePlugin;
 import net.fabricmc.loom.build.IntermediaryNamespaces;
 import net.fabricmc.loom.configuration.providers.forge.ConfigValue;
 import net.fabricmc.loom.configuration.providers.forge.ForgeRunTemplate;
@@ -68,10 +68,10 @@ import net.fabricmc.loom.util.gradle.SourceSetHelper;
 
 public abstract class GenerateDLIConfigTask extends AbstractLoomTask {
 	@Input
-	protected abstract Property<String> getVersionInfoJson();
+	protected abstract Property<String> getAssetIndexId();
 
 	@Input
-	protected abstract Property<String> getMinecraftVersion();
+	protected abstract Property<Boolean> getHasNativesToExtract();
 
 	@Input
 	protected abstract Property<Boolean> getSplitSourceSets();
@@ -131,37 +131,44 @@ public abstract class GenerateDLIConfigTask extends AbstractLoomTask {
 	protected abstract SetProperty<ForgeRunTemplate.Resolved> getRunTemplates();
 
 	public GenerateDLIConfigTask() {
-		getVersionInfoJson().set(LoomGradlePlugin.GSON.toJson(getExtension().getMinecraftProvider().getVersionInfo()));
-		getMinecraftVersion().set(getExtension().getMinecraftProvider().minecraftVersion());
-		getSplitSourceSets().set(getExtension().areEnvironmentSourceSetsSplit());
-		getANSISupportedIDE().set(ansiSupportedIde(getProject()));
-		getPlainConsole().set(getProject().getGradle().getStartParameter().getConsoleOutput() == ConsoleOutput.Plain);
-
-		if (!getExtension().getMods().isEmpty()) {
-			getClassPathGroups().set(buildClassPathGroups(getProject()));
-		}
-
-		getLog4jConfigPaths().set(getAllLog4JConfigFiles(getProject()));
-
-		if (getSplitSourceSets().get()) {
-			getClientGameJarPath().set(getGameJarPath("client"));
-			getCommonGameJarPath().set(getGameJarPath("common"));
-		}
+		final Project project = getProject();
+		final LoomGradleExtension extension = getExtension();
+
+		// Only the parts of the version meta that are used are inputs, and all inputs are computed lazily,
+		// so that they can be stored in the configuration cache.
+		final Provider<MinecraftVersionMeta> versionInfo = project.provider(() -> extension.getMinecraftProvider().getVersionInfo());
+		getAssetIndexId().set(versionInfo.map(meta -> meta.assetIndex().fabricId(extension.getMinecraftProvider().minecraftVersion())));
+		getHasNativesToExtract().set(versionInfo.map(MinecraftVersionMeta::hasNativesToExtract));
+		getSplitSourceSets().set(project.provider(extension::areEnvironmentSourceSetsSplit));
+		getANSISupportedIDE().set(project.provider(() -> ansiSupportedIde(project)));
+		getPlainConsole().set(project.getGradle().getStartParameter().getConsoleOutput() == ConsoleOutput.Plain);
+		getClassPathGroups().set(project.provider(() -> extension.getMods().isEmpty() ? null : buildClassPathGroups(project)));
+		getLog4jConfigPaths().set(project.provider(() -> getAllLog4JConfigFiles(project)));
+		getClientGameJarPath().set(project.provider(() -> extension.areEnvironmentSourceSetsSplit() ? getGameJarPath(extension, "client") : null));
+		getCommonGameJarPath().set(project.provider(() -> extension.areEnvironmentSourceSetsSplit() ? getGameJarPath(extension, "common") : null));
+
+		getAssetsDirectoryPath().set(versionInfo.map(meta -> {
+			final File assetsDirectory = new File(extension.getFiles().getUserCache(), "assets");
+
+			if (meta.assets().equals("legacy")) {
+				return new File(assetsDirectory, "/legacy/" + meta.id()).getAbsolutePath();
+			}
 
-		getAssetsDirectoryPath().set(new File(getExtension().getFiles().getUserCache(), "assets").getAbsolutePath());
-		getNativesDirectoryPath().set(getExtension().getFiles().getNativesDirectory(getProject()).getAbsolutePath());
-		getDevLauncherConfig().set(getExtension().getFiles().getDevLauncherConfig());
+			return assetsDirectory.getAbsolutePath();
+		}));
+		getNativesDirectoryPath().set(project.provider(() -> extension.getFiles().getNativesDirectory(project).getAbsolutePath()));
+		getDevLauncherConfig().set(extension.getFiles().getDevLauncherConfig());
 
-		getPlatform().set(getExtension().getPlatform());
+		getPlatform().set(extension.getPlatform());
 		getPlatform().finalizeValue();
 
-		getPlatformMappingFile().set(getProject().getLayout().file(getProject().provider(() -> getExtension().getPlatformMappingFile().toFile())));
+		getPlatformMappingFile().set(project.getLayout().file(project.provider(() -> extension.getPlatformMappingFile().toFile())));
 		getPlatformMappingFile().finalizeValue();
-		getMappingJars().from(getProject().getConfigurations().getByName(Constants.Configurations.MAPPINGS_FINAL));
+		getMappingJars().from(project.getConfigurations().getByName(Constants.Configurations.MAPPINGS_FINAL));
 
-		if (getExtension().isForgeLike()) {
-			getRunTemplates().addAll(getProject().provider(() -> {
-				final ForgeRunsProvider forgeRunsProvider = getExtension().getForgeRunsProvider();
+		if (extension.isForgeLike()) {
+			getRunTemplates().addAll(project.provider(() -> {
+				final ForgeRunsProvider forgeRunsProvider = extension.getForgeRunsProvider();
 				final ConfigValue.Resolver configResolver = forgeRunsProvider.getResolver(null);
 				return forgeRunsProvider.getTemplates()
 						.stream()
@@ -169,8 +176,8 @@ public abstract class GenerateDLIConfigTask extends AbstractLoomTask {
 						.toList();
 			}));
 
-			if (getExtension().isForge()) {
-				getForgeInputs().set(getProject().provider(() -> new ForgeInputs(getProject(), getExtension())));
+			if (extension.isForge()) {
+				getForgeInputs().set(project.provider(() -> new ForgeInputs(project, extension)));
 			}
 		} else {
 			getRunTemplates().empty();
@@ -179,13 +186,6 @@ public abstract class GenerateDLIConfigTask extends AbstractLoomTask {
 
 	@TaskAction
 	public void run() throws IOException {
-		final MinecraftVersionMeta versionInfo = LoomGradlePlugin.GSON.fromJson(getVersionInfoJson().get(), MinecraftVersionMeta.class);
-		File assetsDirectory = new File(getAssetsDirectoryPath().get());
-
-		if (versionInfo.assets().equals("legacy")) {
-			assetsDirectory = new File(assetsDirectory, "/legacy/" + versionInfo.id());
-		}
-
 		final ModPlatform platform = getPlatform().get();
 		boolean quilt = platform == ModPlatform.QUILT;
 		final LaunchConfig launchConfig = new LaunchConfig()
@@ -194,7 +194,7 @@ public abstract class GenerateDLIConfigTask extends AbstractLoomTask {
 				.property("log4j.configurationFile", getLog4jConfigPaths().get())
 				.property("log4j2.formatMsgNoLookups", "true");
 
-		if (versionInfo.hasNativesToExtract()) {
+		if (getHasNativesToExtract().get()) {
 			String nativesPath = getNativesDirectoryPath().get();
 
 			launchConfig
@@ -205,9 +205,9 @@ public abstract class GenerateDLIConfigTask extends AbstractLoomTask {
 		if (!platform.isForgeLike()) {
 			launchConfig
 					.argument("client", "--assetIndex")
-					.argument("client", versionInfo.assetIndex().fabricId(getMinecraftVersion().get()))
+					.argument("client", getAssetIndexId().get())
 					.argument("client", "--assetsDir")
-					.argument("client", assetsDirectory.getAbsolutePath());
+					.argument("client", getAssetsDirectoryPath().get());
 
 			if (getSplitSourceSets().get()) {
 				launchConfig.property("client", !quilt ? "fabric.gameJarPath.client" : "loader.gameJarPath.client", getClientGameJarPath().get());
@@ -303,8 +303,8 @@ public abstract class GenerateDLIConfigTask extends AbstractLoomTask {
 				.collect(Collectors.joining(","));
 	}
 
-	private String getGameJarPath(String env) {
-		MappedMinecraftProvider.Split split = (MappedMinecraftProvider.Split) getExtension().getNamedMinecraftProvider();
+	private static String getGameJarPath(LoomGradleExtension extension, String env) {
+		MappedMinecraftProvider.Split split = (MappedMinecraftProvider.Split) extension.getNamedMinecraftProvider();
 
 		return switch (env) {
 		case "client" -> split.getClientOnlyJar().getPath().toAbsolutePath().toString();
@@ -60,9 +60,10 @@ public abstract class GenerateRemapClasspathTask extends AbstractLoomTask {
 				.map(configurations::named)
 				.forEach(getRemapClasspath()::from);
 
-		for (Path minecraftJar : getExtension().getMinecraftJars(MappingsNamespace.INTERMEDIARY)) {
-			getRemapClasspath().from(minecraftJar.toFile());
-		}
+		// The minecraft jars are only known once the minecraft provider has been setup, so add them lazily.
+		getRemapClasspath().from(getProject().provider(() -> getExtension().getMinecraftJars(MappingsNamespace.INTERMEDIARY).stream()
+				.map(Path::toFile)
+				.toList()));
 
 		getRemapClasspathFile().set(getExtension().getFiles().getRemapClasspathFile());
 	}
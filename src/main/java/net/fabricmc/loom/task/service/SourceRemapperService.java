@@ -56,7 +56,13 @@ public final class SourceRemapperService implements SharedService {
 		final String to = task.getTargetNamespace().get();
 		final String from = task.getSourceNamespace().get();
 		final LoomGradleExtension extension = LoomGradleExtension.get(project);
-		final String id = extension.getMappingConfiguration().getBuildServiceName("sourceremapper", from, to);
+		String id = extension.getMappingConfiguration().getBuildServiceName("sourceremapper", from, to);
+
+		// The remapper uses the classpath of the task that created it, only share it across projects when asked to.
+		if (task.getRemapperIsolation().get() || !extension.multiProjectOptimisation()) {
+			id += ":" + project.getPath();
+		}
+
 		final int javaCompileRelease = SourceRemapper.getJavaCompileRelease(project);
 
 		return serviceManager.getOrCreateService(id, () ->
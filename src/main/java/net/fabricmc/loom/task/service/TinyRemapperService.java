@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.lang.ref.Cleaner;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -52,11 +53,14 @@ import net.fabricmc.loom.build.IntermediaryNamespaces;
 import net.fabricmc.loom.build.mixin.AnnotationProcessorInvoker;
 import net.fabricmc.loom.extension.RemapperExtensionHolder;
 import net.fabricmc.loom.task.AbstractRemapJarTask;
+import net.fabricmc.loom.util.CacheRules;
+import net.fabricmc.loom.util.ClasspathStubCache;
 import net.fabricmc.loom.util.Constants;
 import net.fabricmc.loom.util.gradle.GradleUtils;
 import net.fabricmc.loom.util.gradle.SourceSetHelper;
 import net.fabricmc.loom.util.kotlin.KotlinClasspath;
 import net.fabricmc.loom.util.kotlin.KotlinClasspathService;
+import net.fabricmc.loom.util.kotlin.KotlinPluginUtils;
 import net.fabricmc.loom.util.kotlin.KotlinRemapperClassloader;
 import net.fabricmc.loom.util.service.SharedService;
 import net.fabricmc.loom.util.service.SharedServiceManager;
@@ -65,6 +69,8 @@ import net.fabricmc.tinyremapper.InputTag;
 import net.fabricmc.tinyremapper.TinyRemapper;
 
 public class TinyRemapperService implements SharedService {
+	private static final CacheRules CLASSPATH_STUB_CACHE_RULES = new CacheRules(1_000, Duration.ofDays(30));
+
 	public static TinyRemapperService getOrCreate(SharedServiceManager serviceManager, AbstractRemapJarTask remapJarTask) {
 		final Project project = remapJarTask.getProject();
 		final String to = remapJarTask.getTargetNamespace().get();
@@ -72,15 +78,51 @@ public class TinyRemapperService implements SharedService {
 		final LoomGradleExtension extension = LoomGradleExtension.get(project);
 		final boolean legacyMixin = extension.getMixin().getUseLegacyMixinAp().get();
 		final @Nullable KotlinClasspathService kotlinClasspathService = KotlinClasspathService.getOrCreateIfRequired(serviceManager, project);
+		final String id = getServiceId(remapJarTask);
+
+		TinyRemapperService service = serviceManager.getOrCreateService(id, () -> {
+			List<IMappingProvider> mappings = new ArrayList<>();
+			mappings.add(MappingsService.createDefault(project, serviceManager, from, to).getMappingsProvider());
+
+			if (legacyMixin) {
+				mappings.add(gradleMixinMappingProvider(serviceManager, project.getGradle(), extension.getMappingConfiguration().mappingsIdentifier, from, to));
+			}
+
+			final var classpathStubCache = new ClasspathStubCache(extension.getFiles().getUserCache().toPath().resolve("classpath-stubs"), CLASSPATH_STUB_CACHE_RULES);
+			classpathStubCache.prune();
+			return new TinyRemapperService(mappings, !legacyMixin, kotlinClasspathService, extension.getKnownIndyBsms().get(), extension.getRemapperExtensions().get(), from, to, project.getObjects(), classpathStubCache);
+		});
+
+		service.readClasspath(getRemapClasspath(remapJarTask));
+
+		// Read the inputs registered by the prepare tasks, this is deferred until a remap task actually needs the remapper.
+		getPendingInputs(serviceManager, id).readInto(service);
+
+		return service;
+	}
+
+	/**
+	 * Registers an input to be read by the shared remapper once a remap jar task using it is executed.
+	 * This does not create the remapper, allowing the classpath to never be read when all of the remap jar tasks are up-to-date.
+	 */
+	public static void registerInput(SharedServiceManager serviceManager, AbstractRemapJarTask remapJarTask, Path inputFile) {
+		getPendingInputs(serviceManager, getServiceId(remapJarTask)).add(new PendingInputs.Input(inputFile, getRemapClasspath(remapJarTask)));
+	}
+
+	// Generates an id that is used to share the remapper across projects. This tasks in the remap jar task name to handle custom remap jar tasks separately.
+	private static String getServiceId(AbstractRemapJarTask remapJarTask) {
+		final Project project = remapJarTask.getProject();
+		final String to = remapJarTask.getTargetNamespace().get();
+		final String from = remapJarTask.getSourceNamespace().get();
+		final LoomGradleExtension extension = LoomGradleExtension.get(project);
 		boolean multiProjectOptimisation = extension.multiProjectOptimisation();
 
-		// Generates an id that is used to share the remapper across projects. This tasks in the remap jar task name to handle custom remap jar tasks separately.
 		final var joiner = new StringJoiner(":");
 		joiner.add(extension.getMappingConfiguration().getBuildServiceName("remapJarService", from, to));
 		joiner.add(remapJarTask.getName());
 
-		if (kotlinClasspathService != null) {
-			joiner.add("kotlin-" + kotlinClasspathService.version());
+		if (KotlinPluginUtils.hasKotlinPlugin(project)) {
+			joiner.add("kotlin-" + KotlinPluginUtils.getKotlinPluginVersion(project));
 		}
 
 		if (remapJarTask.getRemapperIsolation().get() || !multiProjectOptimisation) {
@@ -93,24 +135,18 @@ public class TinyRemapperService implements SharedService {
 			joiner.add(extension.getPlatform().get().id());
 		}
 
-		final String id = joiner.toString();
-
-		TinyRemapperService service = serviceManager.getOrCreateService(id, () -> {
-			List<IMappingProvider> mappings = new ArrayList<>();
-			mappings.add(MappingsService.createDefault(project, serviceManager, from, to).getMappingsProvider());
-
-			if (legacyMixin) {
-				mappings.add(gradleMixinMappingProvider(serviceManager, project.getGradle(), extension.getMappingConfiguration().mappingsIdentifier, from, to));
-			}
-
-			return new TinyRemapperService(mappings, !legacyMixin, kotlinClasspathService, extension.getKnownIndyBsms().get(), extension.getRemapperExtensions().get(), from, to, project.getObjects());
-		});
+		return joiner.toString();
+	}
 
+	private static List<Path> getRemapClasspath(AbstractRemapJarTask remapJarTask) {
+		final Project project = remapJarTask.getProject();
+		final String from = remapJarTask.getSourceNamespace().get();
+		final LoomGradleExtension extension = LoomGradleExtension.get(project);
 		final ConfigurationContainer configurations = project.getConfigurations();
 		ConfigurableFileCollection excludedMinecraftJars = project.files();
 
 		// Exclude none root minecraft jars.
-		if (multiProjectOptimisation && !extension.isRootProject()) {
+		if (extension.multiProjectOptimisation() && !extension.isRootProject()) {
 			MappingsNamespace mappingsNamespace = MappingsNamespace.of(from);
 
 			if (mappingsNamespace != null) {
@@ -123,7 +159,7 @@ public class TinyRemapperService implements SharedService {
 			}
 		}
 
-		List<Path> classPath = remapJarTask.getClasspath()
+		return remapJarTask.getClasspath()
 				.minus(configurations.getByName(Constants.Configurations.MINECRAFT_COMPILE_LIBRARIES))
 				.minus(configurations.getByName(Constants.Configurations.MINECRAFT_RUNTIME_LIBRARIES))
 				.minus(excludedMinecraftJars)
@@ -132,9 +168,30 @@ public class TinyRemapperService implements SharedService {
 				.map(File::toPath)
 				.filter(Files::exists)
 				.toList();
+	}
 
-		service.readClasspath(classPath);
-		return service;
+	private static PendingInputs getPendingInputs(SharedServiceManager serviceManager, String id) {
+		return serviceManager.getOrCreateService(id + ":pendingInputs", PendingInputs::new);
+	}
+
+	private static final class PendingInputs implements SharedService {
+		private final List<Input> inputs = new ArrayList<>();
+
+		synchronized void add(Input input) {
+			inputs.add(input);
+		}
+
+		// Holds the lock while the inputs are read, so a concurrent remap task cannot start remapping before every pending input has been queued.
+		synchronized void readInto(TinyRemapperService service) {
+			for (Input input : inputs) {
+				service.readClasspath(input.classpath());
+				service.getTinyRemapperForInputs().readInputsAsync(service.getOrCreateTag(input.inputFile()), input.inputFile());
+			}
+
+			inputs.clear();
+		}
+
+		record Input(Path inputFile, List<Path> classpath) { }
 	}
 
 	// Add all of the mixin mappings from all loom projects.
@@ -162,14 +219,14 @@ public class TinyRemapperService implements SharedService {
 	}
 
 	private TinyRemapper tinyRemapper;
-	@Nullable
-	private KotlinRemapperClassloader kotlinRemapperClassloader;
 	private final Map<String, InputTag> inputTagMap = new HashMap<>();
 	private final HashSet<Path> classpath = new HashSet<>();
+	private final ClasspathStubCache classpathStubCache;
 	// Set to true once remapping has started, once set no inputs can be read.
 	private boolean isRemapping = false;
 
-	private TinyRemapperService(List<IMappingProvider> mappings, boolean useMixinExtension, @Nullable KotlinClasspath kotlinClasspath, Set<String> knownIndyBsms, List<RemapperExtensionHolder> remapperExtensions, String sourceNamespace, String targetNamespace, ObjectFactory objectFactory) {
+	private TinyRemapperService(List<IMappingProvider> mappings, boolean useMixinExtension, @Nullable KotlinClasspath kotlinClasspath, Set<String> knownIndyBsms, List<RemapperExtensionHolder> remapperExtensions, String sourceNamespace, String targetNamespace, ObjectFactory objectFactory, ClasspathStubCache classpathStubCache) {
+		this.classpathStubCache = classpathStubCache;
 		TinyRemapper.Builder builder = TinyRemapper.newRemapper().withKnownIndyBsm(knownIndyBsms);
 
 		for (IMappingProvider provider : mappings) {
@@ -181,8 +238,7 @@ public class TinyRemapperService implements SharedService {
 		}
 
 		if (kotlinClasspath != null) {
-			kotlinRemapperClassloader = KotlinRemapperClassloader.create(kotlinClasspath);
-			builder.extension(kotlinRemapperClassloader.getTinyRemapperExtension());
+			builder.extension(KotlinRemapperClassloader.getOrCreateShared(kotlinClasspath).getTinyRemapperExtension());
 		}
 
 		for (RemapperExtensionHolder holder : remapperExtensions) {
@@ -240,7 +296,8 @@ public class TinyRemapperService implements SharedService {
 			return;
 		}
 
-		tinyRemapper.readClassPath(toRead.toArray(Path[]::new));
+		// Only the hierarchy and member signatures are needed from the classpath, so read the stubs instead of the full jars.
+		tinyRemapper.readClassPath(classpathStubCache.getStubs(toRead).toArray(Path[]::new));
 	}
 
 	@Override
@@ -249,9 +306,5 @@ public class TinyRemapperService implements SharedService {
 			tinyRemapper.finish();
 			tinyRemapper = null;
 		}
-
-		if (kotlinRemapperClassloader != null) {
-			kotlinRemapperClassloader.close();
-		}
 	}
 }
@@ -36,6 +36,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 public interface AsyncZipProcessor {
 	static void processEntries(Path inputZip, Path outputZip, AsyncZipProcessor processor) throws IOException {
@@ -45,11 +46,17 @@ public interface AsyncZipProcessor {
 			final Path outRoot = outFs.get().getPath("/");
 
 			List<CompletableFuture<Void>> futures = new ArrayList<>();
-			final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+			// Assume up to 16MB of memory is used to process each entry
+			final int threads = MemoryBudget.get().threads(16L * 1024 * 1024);
+			final ExecutorService executor = Executors.newFixedThreadPool(threads);
+			// Limit the number of entries queued at once, rather than queuing one task per entry up front
+			final Semaphore queued = new Semaphore(threads * 4);
 
 			Files.walkFileTree(inRoot, new SimpleFileVisitor<>() {
 				@Override
 				public FileVisitResult visitFile(Path inputFile, BasicFileAttributes attrs) throws IOException {
+					queued.acquireUninterruptibly();
+
 					final CompletableFuture<Void> future = CompletableFuture.supplyAsync(() -> {
 						try {
 							final String rel = inRoot.relativize(inputFile).toString();
@@ -60,7 +67,7 @@ public interface AsyncZipProcessor {
 						}
 
 						return null;
-					}, executor);
+					}, executor).whenComplete((result, throwable) -> queued.release());
 
 					futures.add(future);
 					return FileVisitResult.CONTINUE;
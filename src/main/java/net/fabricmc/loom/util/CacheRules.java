@@ -0,0 +1,78 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The rules for a cache.
+ *
+ * @param maxFiles The maximum number of files in the cache
+ * @param maxAge  The maximum age of a file in the cache
+ */
+public record CacheRules(long maxFiles, Duration maxAge) {
+	/**
+	 * Deletes the files directly within the directory with the given suffix that have not been modified within the max age,
+	 * and then the least recently modified files over the max number of files.
+	 */
+	public void pruneDirectory(Path dir, String suffix) throws IOException {
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+
+		final List<FileEntry> entries = new ArrayList<>();
+
+		try (Stream<Path> stream = Files.list(dir)) {
+			for (Path path : (Iterable<Path>) stream::iterator) {
+				if (path.getFileName().toString().endsWith(suffix) && Files.isRegularFile(path)) {
+					entries.add(new FileEntry(path, Files.getLastModifiedTime(path)));
+				}
+			}
+		}
+
+		// Sorted newest -> oldest
+		entries.sort(Comparator.comparing(FileEntry::lastModified).reversed());
+		final Instant oldest = Instant.now().minus(maxAge);
+
+		for (int i = 0; i < entries.size(); i++) {
+			final FileEntry entry = entries.get(i);
+
+			if (i >= maxFiles || entry.lastModified().toInstant().isBefore(oldest)) {
+				Files.deleteIfExists(entry.path());
+			}
+		}
+	}
+
+	private record FileEntry(Path path, FileTime lastModified) { }
+}
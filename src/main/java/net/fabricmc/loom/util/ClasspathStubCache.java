@@ -0,0 +1,188 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates and caches stub jars of classpath entries, these only contain the class headers, fields and method signatures.
+ * Tiny remapper only needs the class hierarchy and members from the classpath, reading the much smaller stubs avoids inflating and parsing all of the method bodies.
+ *
+ * <p>The stubs are still valid classes, every concrete method has a body that throws, so they fail loudly if they ever end up being loaded.
+ */
+public final class ClasspathStubCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ClasspathStubCache.class);
+	// Bump when the contents of the stubs change.
+	private static final String VERSION = "v2";
+
+	private final Path cacheDir;
+	private final CacheRules cacheRules;
+
+	public ClasspathStubCache(Path cacheDir, CacheRules cacheRules) {
+		this.cacheDir = cacheDir.resolve(VERSION);
+		this.cacheRules = cacheRules;
+	}
+
+	public List<Path> getStubs(List<Path> classpath) {
+		return classpath.stream()
+				.map(this::getStub)
+				.toList();
+	}
+
+	/**
+	 * Returns the stub jar for the given classpath entry, directories and entries that fail to be stubbed are returned as is.
+	 */
+	public Path getStub(Path path) {
+		if (!Files.isRegularFile(path)) {
+			return path;
+		}
+
+		try {
+			final Path stub = cacheDir.resolve(getKey(path) + ".jar");
+
+			if (Files.exists(stub)) {
+				// Mark the stub as recently used so that it is not pruned.
+				Files.setLastModifiedTime(stub, FileTime.from(Instant.now()));
+				return stub;
+			}
+
+			Files.createDirectories(cacheDir);
+
+			// Write to a temp file first, another process may be creating the same stub.
+			final Path tempStub = cacheDir.resolve(stub.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+			try {
+				createStub(path, tempStub);
+				Files.move(tempStub, stub, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tempStub);
+			}
+
+			return stub;
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Failed to create classpath stub for {}, using the full jar", path, e);
+			return path;
+		}
+	}
+
+	/**
+	 * Deletes the stubs that have not been used within the max age, and then the least recently used stubs over the max number of files.
+	 */
+	public void prune() {
+		try {
+			cacheRules.pruneDirectory(cacheDir, ".jar");
+		} catch (IOException e) {
+			LOGGER.warn("Failed to prune classpath stubs in {}", cacheDir, e);
+		}
+	}
+
+	// Jars are keyed by their location, size and modification time, this avoids having to hash every jar on each lookup.
+	private static String getKey(Path path) throws IOException {
+		final String identity = "%s|%d|%d".formatted(path.toAbsolutePath(), Files.size(path), Files.getLastModifiedTime(path).toMillis());
+		return Checksum.sha1Hex(identity.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static void createStub(Path input, Path output) throws IOException {
+		AsyncZipProcessor.processEntries(input, output, new AsyncZipProcessor() {
+			private final Set<Path> createdParents = new HashSet<>();
+
+			@Override
+			public void processEntryAsync(Path file, Path dst) throws IOException {
+				final String name = file.toString();
+
+				// Keep the manifest so multi-release jars are still detected.
+				if (!name.endsWith(".class") && !name.equals("/META-INF/MANIFEST.MF")) {
+					return;
+				}
+
+				Path parent = dst.getParent();
+
+				synchronized (createdParents) {
+					if (parent != null && createdParents.add(parent)) {
+						Files.createDirectories(parent);
+					}
+				}
+
+				if (!name.endsWith(".class")) {
+					Files.copy(file, dst);
+					return;
+				}
+
+				try (InputStream is = Files.newInputStream(file)) {
+					ClassReader reader = new ClassReader(is);
+					ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+					reader.accept(new StubClassVisitor(writer), ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+					Files.write(dst, writer.toByteArray());
+				}
+			}
+		});
+	}
+
+	// Replaces the skipped code of concrete methods with "throw null", a method without a Code attribute must be abstract or native.
+	private static final class StubClassVisitor extends ClassVisitor {
+		private StubClassVisitor(ClassVisitor classVisitor) {
+			super(Constants.ASM_VERSION, classVisitor);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+			final MethodVisitor methodVisitor = super.visitMethod(access, name, descriptor, signature, exceptions);
+
+			if ((access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+				return methodVisitor;
+			}
+
+			return new MethodVisitor(Constants.ASM_VERSION, methodVisitor) {
+				@Override
+				public void visitEnd() {
+					super.visitCode();
+					super.visitInsn(Opcodes.ACONST_NULL);
+					super.visitInsn(Opcodes.ATHROW);
+					super.visitMaxs(0, 0);
+					super.visitEnd();
+				}
+			};
+		}
+	}
+}
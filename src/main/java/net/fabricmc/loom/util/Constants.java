@@ -163,6 +163,53 @@ public class Constants {
 		@ApiStatus.Experimental
 		public static final String SANDBOX = "fabric.loom.experimental.sandbox";
 		public static final String ALLOW_MISMATCHED_PLATFORM_VERSION = "loom.allowMismatchedPlatformVersion";
+		/**
+		 * When set, Forge binary patches are applied by forking Forge's binarypatcher instead of in process.
+		 */
+		public static final String EXTERNAL_BINARY_PATCHER = "loom.forge.externalBinaryPatcher";
+		/**
+		 * Path to a prebuilt versions manifest index, used to find the Minecraft version without reading the versions manifests.
+		 * The index files written next to the cached manifests in the Loom user cache can be used.
+		 */
+		public static final String VERSIONS_MANIFEST_INDEX = "fabric.loom.versionsManifestIndex";
+		public static final String DISABLE_MIXIN_MAPPINGS_FILTER = "fabric.loom.disableMixinMappingsFilter";
+		@ApiStatus.Experimental
+		public static final String GEN_SOURCES_PRIORITY_CLASSES = "fabric.loom.genSources.priorityClasses";
+		/**
+		 * When set, the decompile worker JVM is kept alive after genSources and reused by later runs with the same decompiler settings.
+		 */
+		@ApiStatus.Experimental
+		public static final String PERSISTENT_DECOMPILER_WORKER = "fabric.loom.genSources.persistentWorker";
+		/**
+		 * The number of worker JVMs that genSources splits the decompilation of a jar between, each with the configured decompiler memory.
+		 */
+		@ApiStatus.Experimental
+		public static final String DECOMPILE_SHARDS = "fabric.loom.genSources.shards";
+		/**
+		 * When set, genSources decompiles the common and client only jars of split projects together in one job.
+		 */
+		@ApiStatus.Experimental
+		public static final String COMBINED_SPLIT_DECOMPILE = "fabric.loom.genSources.combinedSplit";
+		/**
+		 * A shared decompile cache that genSources reads through to, either a http(s) url or a directory path.
+		 */
+		@ApiStatus.Experimental
+		public static final String SHARED_DECOMPILE_CACHE = "fabric.loom.genSources.sharedCache";
+		/**
+		 * When set, genSources also puts newly decompiled classes into the shared decompile cache.
+		 */
+		@ApiStatus.Experimental
+		public static final String SHARED_DECOMPILE_CACHE_PUSH = "fabric.loom.genSources.sharedCachePush";
+		/**
+		 * A store for the merged, remapped and patched Minecraft jars that is shared between machines, either a http(s) url or a directory path.
+		 */
+		@ApiStatus.Experimental
+		public static final String SHARED_JAR_STORE = "fabric.loom.sharedJarStore";
+		/**
+		 * When set, jars built locally are also put into the shared jar store.
+		 */
+		@ApiStatus.Experimental
+		public static final String SHARED_JAR_STORE_PUSH = "fabric.loom.sharedJarStorePush";
 	}
 
 	public static final class Manifest {
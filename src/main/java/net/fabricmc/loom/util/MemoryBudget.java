@@ -0,0 +1,168 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A budget of heap memory shared by the memory hungry stages that run inside the Gradle daemon, such as merging,
+ * remapping and patching jars. Stages reserve an estimate of the memory they need before starting, and wait while
+ * the budget is used up by other stages. This makes builds on memory constrained machines slower instead of failing
+ * with an {@link OutOfMemoryError}.
+ *
+ * <p>The budget is a fraction of the maximum heap size, which the JVM already limits to the container memory limit.
+ */
+public final class MemoryBudget {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MemoryBudget.class);
+	private static final long MB = 1024 * 1024;
+	// Leave the rest of the heap for Gradle and anything not accounted for.
+	private static final double HEAP_FRACTION = 0.75;
+	private static final MemoryBudget INSTANCE = new MemoryBudget((long) (Runtime.getRuntime().maxMemory() * HEAP_FRACTION));
+
+	private final long totalBytes;
+	private long reservedBytes = 0;
+	private final Map<String, Long> stageReservedBytes = new HashMap<>();
+	private final Map<String, Long> stagePeakBytes = new HashMap<>();
+
+	@VisibleForTesting
+	public MemoryBudget(long totalBytes) {
+		this.totalBytes = totalBytes;
+	}
+
+	public static MemoryBudget get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Reserves memory for a stage, waiting until enough of the budget is free. A request larger than the whole budget
+	 * waits until nothing else is reserved, and then runs on its own.
+	 *
+	 * @param stage A name of the stage, used for reporting
+	 * @param bytes The estimated amount of memory that the stage needs
+	 * @return A lease that must be closed once the stage has finished
+	 */
+	public Lease acquire(String stage, long bytes) {
+		final long start = System.nanoTime();
+
+		synchronized (this) {
+			while (reservedBytes > 0 && reservedBytes + bytes > totalBytes) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException("Interrupted while waiting for memory for " + stage, e);
+				}
+			}
+
+			reservedBytes += bytes;
+			final long stageBytes = stageReservedBytes.merge(stage, bytes, Long::sum);
+			stagePeakBytes.merge(stage, stageBytes, Math::max);
+		}
+
+		final long waitedMs = (System.nanoTime() - start) / 1_000_000;
+
+		if (waitedMs > 100) {
+			LOGGER.info("{} waited {}ms for {}MB of memory", stage, waitedMs, bytes / MB);
+		}
+
+		return new Lease(stage, bytes);
+	}
+
+	/**
+	 * @param bytesPerThread The estimated amount of memory used by each thread
+	 * @return The number of threads that fit in the free budget and free heap, at least 1 and at most the number of processors
+	 */
+	public int threads(long bytesPerThread) {
+		final Runtime runtime = Runtime.getRuntime();
+		final long freeHeap = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+		final long freeBudget;
+
+		synchronized (this) {
+			freeBudget = totalBytes - reservedBytes;
+		}
+
+		final long threads = Math.min(freeBudget, freeHeap) / Math.max(1, bytesPerThread);
+		return (int) Math.max(1, Math.min(runtime.availableProcessors(), threads));
+	}
+
+	/**
+	 * Estimates the heap needed to hold the contents of the given jars, the classes are roughly twice as large
+	 * uncompressed, and are then parsed.
+	 */
+	public static long estimateJars(Path... jars) throws IOException {
+		long size = 0;
+
+		for (Path jar : jars) {
+			size += Files.size(jar);
+		}
+
+		return size * 4;
+	}
+
+	private synchronized void release(String stage, long bytes) {
+		reservedBytes -= bytes;
+
+		if (stageReservedBytes.merge(stage, -bytes, Long::sum) == 0) {
+			stageReservedBytes.remove(stage);
+			LOGGER.info("{} peak reserved memory: {}MB of {}MB", stage, stagePeakBytes.remove(stage) / MB, totalBytes / MB);
+		}
+
+		notifyAll();
+	}
+
+	@VisibleForTesting
+	public synchronized long getReservedBytes() {
+		return reservedBytes;
+	}
+
+	public final class Lease implements AutoCloseable {
+		private final String stage;
+		private final long bytes;
+		private boolean closed = false;
+
+		private Lease(String stage, long bytes) {
+			this.stage = stage;
+			this.bytes = bytes;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+			release(stage, bytes);
+		}
+	}
+}
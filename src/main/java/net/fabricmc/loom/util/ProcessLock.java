@@ -0,0 +1,279 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * An inter-process lock backed by {@link FileChannel#lock()}, waiting processes are woken by the OS as soon as the lock is released.
+ *
+ * <p>The pid of the owner is written into the lock file while it is held, and cleared when it is released cleanly.
+ * Finding a pid (or {@code disowned}) in the file once the lock has been acquired means the previous owner did not finish cleanly.
+ *
+ * <p>The OS lock is taken on a separate {@code .lock} file next to it, as file locks are mandatory on Windows and
+ * waiting processes must still be able to read the pid of the owner.
+ */
+public final class ProcessLock implements AutoCloseable {
+	private static final Logger LOGGER = Logging.getLogger(ProcessLock.class);
+	private static final String DISOWNED = "disowned";
+	// File locks are held on behalf of the whole JVM, so threads within the same process must be serialised separately.
+	private static final Map<Path, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+	private final Path file;
+	private final FileChannel channel;
+	private final FileChannel lockChannel;
+	private final FileLock fileLock;
+	private final ReentrantLock jvmLock;
+	private final Result result;
+	private boolean released = false;
+
+	private ProcessLock(Path file, FileChannel channel, FileChannel lockChannel, FileLock fileLock, ReentrantLock jvmLock, Result result) {
+		this.file = file;
+		this.channel = channel;
+		this.lockChannel = lockChannel;
+		this.fileLock = fileLock;
+		this.jvmLock = jvmLock;
+		this.result = result;
+	}
+
+	public enum Result {
+		// acquired immediately or after waiting for another process to release
+		ACQUIRED_CLEAN,
+		// already owned by current pid
+		ACQUIRED_ALREADY_OWNED,
+		// acquired due to current owner not existing
+		ACQUIRED_PREVIOUS_OWNER_MISSING,
+		// acquired due to previous owner disowning the lock
+		ACQUIRED_PREVIOUS_OWNER_DISOWNED
+	}
+
+	/**
+	 * Blocks until the lock is acquired, or the timeout has elapsed.
+	 *
+	 * @param file the lock file, one file should be used per cache key
+	 * @param description a human-readable description of what the lock is guarding
+	 * @param timeout how long to wait before giving up
+	 * @param ownerPrinter called with the owning process when the lock is contended, used to log information about it
+	 */
+	public static ProcessLock acquire(Path file, String description, Duration timeout, Consumer<ProcessHandle> ownerPrinter) throws IOException {
+		// A single deadline covers waiting within this process and waiting for other processes.
+		final long start = System.nanoTime();
+		final ReentrantLock jvmLock = JVM_LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), p -> new ReentrantLock());
+
+		try {
+			if (!jvmLock.tryLock(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				throw new GradleException("Have been waiting on lock '%s' for %s ms within this process. Giving up.".formatted(description, timeout.toMillis()));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for lock " + description, e);
+		}
+
+		FileChannel channel = null;
+		FileChannel lockChannel = null;
+
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			FileLock fileLock = lockChannel.tryLock();
+
+			if (fileLock == null) {
+				final String owner = readContents(channel);
+				LOGGER.lifecycle("\"{}\" is currently held by pid '{}'.", description, owner);
+				parsePid(owner).flatMap(ProcessHandle::of).ifPresent(ownerPrinter);
+				LOGGER.lifecycle("Waiting for lock to be released...");
+				fileLock = waitForLock(lockChannel, description, owner, start, timeout);
+			}
+
+			final Result result = checkPreviousOwner(description, readContents(channel));
+			writeContents(channel, String.valueOf(ProcessHandle.current().pid()));
+
+			final long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+			if (waitedMs >= 1000) {
+				LOGGER.lifecycle("Acquired \"{}\" after waiting {} ms.", description, waitedMs);
+			} else {
+				LOGGER.info("Acquired \"{}\" after waiting {} ms.", description, waitedMs);
+			}
+
+			return new ProcessLock(file, channel, lockChannel, fileLock, jvmLock, result);
+		} catch (IOException | RuntimeException e) {
+			if (lockChannel != null) {
+				lockChannel.close();
+			}
+
+			if (channel != null) {
+				channel.close();
+			}
+
+			jvmLock.unlock();
+			throw e;
+		}
+	}
+
+	private static FileLock waitForLock(FileChannel channel, String description, String owner, long start, Duration timeout) throws IOException {
+		// FileChannel.lock has no timeout, block on another thread so we can log progress and give up after the timeout.
+		final FutureTask<FileLock> task = new FutureTask<>(channel::lock);
+		final Thread thread = new Thread(task, "Loom lock waiter");
+		thread.setDaemon(true);
+		thread.start();
+
+		final long timeoutMs = timeout.toMillis();
+
+		while (true) {
+			final long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+			if (waitedMs >= timeoutMs) {
+				// Interrupting the waiting thread closes the channel, releasing the pending lock request.
+				task.cancel(true);
+				throw new GradleException("Have been waiting on lock file '%s' for %s ms. Giving up as timeout is %s ms."
+						.formatted(description, waitedMs, timeoutMs));
+			}
+
+			try {
+				return task.get(Math.min(TimeUnit.MINUTES.toMillis(1), timeoutMs - waitedMs), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				LOGGER.lifecycle(
+						"""
+								Have been waiting on "{}" held by pid '{}' for {} minute(s).
+								If this persists for an unreasonable length of time, kill this process, run './gradlew --stop' and then try again.""",
+						description, owner, TimeUnit.NANOSECONDS.toMinutes(System.nanoTime() - start)
+				);
+			} catch (InterruptedException e) {
+				task.cancel(true);
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for lock " + description, e);
+			} catch (ExecutionException e) {
+				throw new IOException("Failed to acquire lock " + description, e.getCause());
+			}
+		}
+	}
+
+	private static Result checkPreviousOwner(String description, String contents) {
+		if (contents.isEmpty()) {
+			return Result.ACQUIRED_CLEAN;
+		}
+
+		if (DISOWNED.equals(contents)) {
+			LOGGER.lifecycle("Previous process has disowned the lock due to abrupt termination.");
+			return Result.ACQUIRED_PREVIOUS_OWNER_DISOWNED;
+		}
+
+		final Optional<Long> pid = parsePid(contents);
+
+		if (pid.isPresent() && pid.get() == ProcessHandle.current().pid()) {
+			return Result.ACQUIRED_ALREADY_OWNED;
+		}
+
+		// We hold the OS lock, so the previous owner either no longer exists or exited without releasing it.
+		LOGGER.lifecycle("\"{}\" was not released by pid '{}', assuming abrupt termination.", description, contents);
+		return Result.ACQUIRED_PREVIOUS_OWNER_MISSING;
+	}
+
+	public Result result() {
+		return result;
+	}
+
+	public Path file() {
+		return file;
+	}
+
+	/**
+	 * Marks the lock as disowned and releases it, allowing the next owner to rebuild without waiting for this process to exit.
+	 */
+	public void disown() throws IOException {
+		release(DISOWNED);
+	}
+
+	/**
+	 * Cleanly releases the lock.
+	 */
+	@Override
+	public void close() throws IOException {
+		release("");
+	}
+
+	private synchronized void release(String contents) throws IOException {
+		if (released) {
+			return;
+		}
+
+		released = true;
+
+		try {
+			writeContents(channel, contents);
+			fileLock.release();
+		} finally {
+			try {
+				channel.close();
+				lockChannel.close();
+			} finally {
+				jvmLock.unlock();
+			}
+		}
+	}
+
+	private static Optional<Long> parsePid(String contents) {
+		try {
+			return Optional.of(Long.parseLong(contents));
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
+	private static String readContents(FileChannel channel) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), 1024));
+		channel.read(buffer, 0);
+		return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).trim();
+	}
+
+	private static void writeContents(FileChannel channel, String contents) throws IOException {
+		channel.truncate(0);
+		channel.write(ByteBuffer.wrap(contents.getBytes(StandardCharsets.UTF_8)), 0);
+		channel.force(false);
+	}
+}
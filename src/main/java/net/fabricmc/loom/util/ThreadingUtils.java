@@ -57,8 +57,21 @@ public class ThreadingUtils {
 	}
 
 	public static void run(Collection<UnsafeRunnable> jobs) {
+		run(Runtime.getRuntime().availableProcessors(), jobs);
+	}
+
+	/**
+	 * Runs the action for each value, on at most the given number of threads.
+	 */
+	public static <T> void run(int threads, Collection<T> values, UnsafeConsumer<T> action) {
+		run(threads, values.stream()
+				.<UnsafeRunnable>map(t -> () -> action.accept(t))
+				.collect(Collectors.toList()));
+	}
+
+	private static void run(int threads, Collection<UnsafeRunnable> jobs) {
 		try {
-			ExecutorService service = Executors.newFixedThreadPool(Math.max(1, Math.min(jobs.size(), Runtime.getRuntime().availableProcessors())));
+			ExecutorService service = Executors.newFixedThreadPool(Math.max(1, Math.min(jobs.size(), threads)));
 			List<Future<?>> futures = new LinkedList<>();
 
 			for (UnsafeRunnable runnable : jobs) {
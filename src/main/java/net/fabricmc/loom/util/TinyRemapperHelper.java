@@ -60,6 +60,8 @@ public final class TinyRemapperHelper {
 	 * Matches the new local variable naming format introduced in 21w37a.
 	 */
 	private static final Pattern MC_LV_PATTERN = Pattern.compile("\\$\\$\\d+");
+	// Estimated memory used by each remapper thread while applying, on top of the class pool.
+	private static final long REMAPPER_THREAD_MEMORY = 64L * 1024 * 1024;
 
 	private TinyRemapperHelper() {
 	}
@@ -81,7 +83,7 @@ public final class TinyRemapperHelper {
 
 		TinyRemapper.Builder builder = TinyRemapper.newRemapper()
 				.ignoreConflicts(extension.isForgeLike())
-				.threads(Runtime.getRuntime().availableProcessors())
+				.threads(MemoryBudget.get().threads(REMAPPER_THREAD_MEMORY))
 				.withMappings(create(mappingTree, fromM, toM, true))
 				.renameInvalidLocals(true)
 				.rebuildSourceFilenames(true)
@@ -27,6 +27,7 @@ package net.fabricmc.loom.util;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
@@ -35,13 +36,17 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
@@ -93,6 +98,42 @@ public class ZipUtils {
 		}
 	}
 
+	/**
+	 * Compares the entries of two zips, ignoring the order of the entries and their metadata such as timestamps.
+	 */
+	public static boolean contentEquals(Path a, Path b) throws IOException {
+		try (ZipFile zipA = new ZipFile(a.toFile());
+				ZipFile zipB = new ZipFile(b.toFile())) {
+			if (zipA.size() != zipB.size()) {
+				return false;
+			}
+
+			final Enumeration<? extends ZipEntry> entries = zipA.entries();
+
+			while (entries.hasMoreElements()) {
+				final ZipEntry entryA = entries.nextElement();
+				final ZipEntry entryB = zipB.getEntry(entryA.getName());
+
+				if (entryB == null || entryA.isDirectory() != entryB.isDirectory()) {
+					return false;
+				}
+
+				if (entryA.isDirectory()) {
+					continue;
+				}
+
+				try (InputStream inA = zipA.getInputStream(entryA);
+						InputStream inB = zipB.getInputStream(entryB)) {
+					if (!Arrays.equals(inA.readAllBytes(), inB.readAllBytes())) {
+						return false;
+					}
+				}
+			}
+		}
+
+		return true;
+	}
+
 	public static byte @Nullable [] unpackNullable(Path zip, String path) throws IOException {
 		try {
 			return unpack(zip, path);
@@ -0,0 +1,119 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.util.fmj;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.loom.LoomGradlePlugin;
+import net.fabricmc.loom.util.Checksum;
+import net.fabricmc.loom.util.ZipUtils;
+
+/**
+ * Reads the {@link FabricModJson} of mod jars, keeping a persistent copy of the fabric.mod.json of each jar.
+ * Later reads of an unchanged jar only need to parse the small cached json file, instead of opening the jar.
+ *
+ * <p>Jars without any mod metadata are remembered as such, other mod metadata formats are always read from the jar.
+ */
+public final class CachedFabricModJsonReader {
+	private final Path cacheDir;
+
+	public CachedFabricModJsonReader(Path cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+	/**
+	 * Reads the mod metadata of all the given jars in parallel.
+	 */
+	public Map<Path, Optional<FabricModJson>> readAll(Collection<Path> zipPaths) {
+		return zipPaths.parallelStream()
+				.distinct()
+				.collect(Collectors.toMap(Function.identity(), this::read));
+	}
+
+	public Optional<FabricModJson> read(Path zipPath) {
+		try {
+			final String key = getKey(zipPath);
+			final Path json = cacheDir.resolve(key + ".json");
+			final Path noMetadata = cacheDir.resolve(key + ".none");
+
+			if (Files.exists(noMetadata)) {
+				return Optional.empty();
+			}
+
+			if (Files.exists(json)) {
+				final JsonObject jsonObject = LoomGradlePlugin.GSON.fromJson(Files.readString(json, StandardCharsets.UTF_8), JsonObject.class);
+				return Optional.of(FabricModJsonFactory.create(jsonObject, new FabricModJsonSource.ZipSource(zipPath)));
+			}
+
+			final byte[] fabricModJson = ZipUtils.unpackNullable(zipPath, FabricModJsonFactory.FABRIC_MOD_JSON);
+
+			if (fabricModJson != null) {
+				final JsonObject jsonObject = LoomGradlePlugin.GSON.fromJson(new String(fabricModJson, StandardCharsets.UTF_8), JsonObject.class);
+				final FabricModJson modJson = FabricModJsonFactory.create(jsonObject, new FabricModJsonSource.ZipSource(zipPath));
+				write(json, fabricModJson);
+				return Optional.of(modJson);
+			}
+
+			final Optional<FabricModJson> modJson = FabricModJsonFactory.createFromZipOptional(zipPath);
+
+			if (modJson.isEmpty()) {
+				write(noMetadata, null);
+			}
+
+			return modJson;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read mod metadata of " + zipPath, e);
+		}
+	}
+
+	// Jars are keyed by their location, size and modification time, this avoids having to hash every jar.
+	private static String getKey(Path zipPath) throws IOException {
+		final String identity = "%s|%d|%d".formatted(zipPath.toAbsolutePath(), Files.size(zipPath), Files.getLastModifiedTime(zipPath).toMillis());
+		return Checksum.sha1Hex(identity.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void write(Path path, byte @Nullable [] contents) throws IOException {
+		Files.createDirectories(cacheDir);
+
+		// Write to a temp file first, other projects may be reading the same jars in parallel.
+		final Path tempPath = cacheDir.resolve(path.getFileName() + "." + UUID.randomUUID() + ".tmp");
+		Files.write(tempPath, contents != null ? contents : new byte[0]);
+		Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
@@ -24,11 +24,17 @@
 
 package net.fabricmc.loom.util.gradle;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Collections;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.gradle.api.Transformer;
@@ -38,11 +44,54 @@ import org.gradle.workers.internal.WorkerDaemonClientsManager;
 public class WorkerDaemonClientsManagerHelper {
 	public static final String MARKER_PROP = "fabric.loom.decompile.worker";
 
+	private static final ScheduledThreadPoolExecutor IDLE_STOP_EXECUTOR = createIdleStopExecutor();
+	private static final Map<String, ScheduledFuture<?>> IDLE_STOPS = new ConcurrentHashMap<>();
+
+	/**
+	 * Stops the JVM with the given marker once it has not been used for the given timeout.
+	 * Calling this again for the same JVM restarts the timeout.
+	 *
+	 * <p>The timer outlives the build, but only weakly references the manager. When the manager of an old build has been
+	 * collected there are no workers left for it to stop.
+	 */
+	public static void stopIdleJVMLater(WorkerDaemonClientsManager manager, String jvmMarkerValue, Duration timeout) {
+		final WeakReference<WorkerDaemonClientsManager> managerRef = new WeakReference<>(manager);
+		final ScheduledFuture<?> stop = IDLE_STOP_EXECUTOR.schedule(() -> {
+			IDLE_STOPS.remove(jvmMarkerValue);
+			final WorkerDaemonClientsManager currentManager = managerRef.get();
+
+			if (currentManager != null) {
+				stopIdleJVM(currentManager, jvmMarkerValue);
+			}
+		}, timeout.toMillis(), TimeUnit.MILLISECONDS);
+		final ScheduledFuture<?> previous = IDLE_STOPS.put(jvmMarkerValue, stop);
+
+		if (previous != null) {
+			previous.cancel(false);
+		}
+	}
+
+	private static ScheduledThreadPoolExecutor createIdleStopExecutor() {
+		final var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "Loom idle worker stopper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Don't keep a thread around when no stop is pending, and drop cancelled stops straight away.
+		executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+		executor.allowCoreThreadTimeOut(true);
+		executor.setRemoveOnCancelPolicy(true);
+		return executor;
+	}
+
 	public static boolean stopIdleJVM(WorkerDaemonClientsManager manager, String jvmMarkerValue) {
 		AtomicBoolean stopped = new AtomicBoolean(false);
 
 		/* Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>> */
 		Transformer<List<Object>, List<Object>> transformer = workerDaemonClients -> {
+			// Sharded decompilation starts several JVMs with the same marker
+			List<Object> toStop = new ArrayList<>();
+
 			for (Object /* WorkerDaemonClient */ client : workerDaemonClients) {
 				DaemonForkOptions forkOptions = getForkOptions(client);
 				Map<String, Object> systemProperties = forkOptions.getJavaForkOptions().getSystemProperties();
@@ -53,10 +102,10 @@ public class WorkerDaemonClientsManagerHelper {
 				}
 
 				stopped.set(true);
-				return Collections.singletonList(client);
+				toStop.add(client);
 			}
 
-			return Collections.emptyList();
+			return toStop;
 		};
 
 		try {
@@ -0,0 +1,83 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2022 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.util.kotlin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.jetbrains.annotations.VisibleForTesting;
+
+/**
+ * Finds classes compiled by kotlin without parsing them, by searching for the {@code kotlin.Metadata} annotation
+ * descriptor in the class bytes. The descriptor is plain ASCII, so it is stored as-is in the constant pool.
+ */
+public final class KotlinMetadataScanner {
+	private static final byte[] METADATA_DESCRIPTOR = "Lkotlin/Metadata;".getBytes(StandardCharsets.UTF_8);
+
+	private KotlinMetadataScanner() {
+	}
+
+	/**
+	 * @return true if any class in the jar may have kotlin metadata that needs remapping
+	 */
+	public static boolean containsKotlinClasses(Path jar) throws IOException {
+		try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(jar))) {
+			ZipEntry entry;
+
+			while ((entry = zis.getNextEntry()) != null) {
+				if (!entry.isDirectory() && entry.getName().endsWith(".class") && mayHaveKotlinMetadata(zis)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean mayHaveKotlinMetadata(InputStream is) throws IOException {
+		return mayHaveKotlinMetadata(is.readAllBytes());
+	}
+
+	@VisibleForTesting
+	public static boolean mayHaveKotlinMetadata(byte[] classBytes) {
+		outer:
+		for (int i = 0; i <= classBytes.length - METADATA_DESCRIPTOR.length; i++) {
+			for (int j = 0; j < METADATA_DESCRIPTOR.length; j++) {
+				if (classBytes[i + j] != METADATA_DESCRIPTOR[j]) {
+					continue outer;
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+}
@@ -28,6 +28,9 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import net.fabricmc.loom.LoomGradlePlugin;
@@ -44,6 +47,10 @@ public class KotlinRemapperClassloader extends URLClassLoader {
 			"org.objectweb.asm",
 			"org.slf4j"
 	);
+	// Classloaders that are kept for the lifetime of the daemon, keyed by the kotlin version and classpath.
+	private static final Map<String, KotlinRemapperClassloader> SHARED_CLASSLOADERS = new ConcurrentHashMap<>();
+
+	private volatile KotlinMetadataTinyRemapperExtension tinyRemapperExtension;
 
 	private KotlinRemapperClassloader(URL[] urls) {
 		super(urls, null);
@@ -72,6 +79,18 @@ public class KotlinRemapperClassloader extends URLClassLoader {
 		return new KotlinRemapperClassloader(urls);
 	}
 
+	/**
+	 * Returns a classloader shared with all other users of the same kotlin classpath, it must not be closed.
+	 * This avoids loading the kotlin stdlib and metadata library again for each remapper.
+	 */
+	public static KotlinRemapperClassloader getOrCreateShared(KotlinClasspath classpathProvider) {
+		final String key = classpathProvider.version() + ":" + classpathProvider.classpath().stream()
+				.map(URL::toString)
+				.sorted()
+				.collect(Collectors.joining(";"));
+		return SHARED_CLASSLOADERS.computeIfAbsent(key, k -> create(classpathProvider));
+	}
+
 	private static Stream<URL> getClassUrls(Class<?>... classes) {
 		return Arrays.stream(classes).map(klass -> klass.getProtectionDomain().getCodeSource().getLocation());
 	}
@@ -80,9 +99,14 @@ public class KotlinRemapperClassloader extends URLClassLoader {
 	 * Load the {@link KotlinMetadataTinyRemapperExtensionImpl} class on the new classloader.
 	 */
 	public KotlinMetadataTinyRemapperExtension getTinyRemapperExtension() {
+		if (tinyRemapperExtension != null) {
+			return tinyRemapperExtension;
+		}
+
 		try {
 			Class<?> klass = this.loadClass(KotlinMetadataTinyRemapperExtensionImpl.class.getCanonicalName());
-			return (KotlinMetadataTinyRemapperExtension) klass.getField("INSTANCE").get(null);
+			tinyRemapperExtension = (KotlinMetadataTinyRemapperExtension) klass.getField("INSTANCE").get(null);
+			return tinyRemapperExtension;
 		} catch (ClassNotFoundException | IllegalAccessException | NoSuchFieldException e) {
 			throw new RuntimeException("Failed to create instance", e);
 		}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.time.Duration
+import java.time.Instant
+
+import org.objectweb.asm.ClassReader
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.MethodVisitor
+import org.objectweb.asm.Opcodes
+import org.objectweb.asm.tree.ClassNode
+import org.objectweb.asm.util.CheckClassAdapter
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.test.util.ZipTestUtils
+import net.fabricmc.loom.util.CacheRules
+import net.fabricmc.loom.util.ClasspathStubCache
+import net.fabricmc.loom.util.ZipUtils
+
+class ClasspathStubCacheTest extends Specification {
+	private static final CacheRules RULES = new CacheRules(2, Duration.ofDays(30))
+
+	@TempDir
+	Path tempDir
+
+	def "stub keeps members with throwing code"() {
+		given:
+		def jar = ZipTestUtils.createZipFromBytes([
+			"test/Example.class": createClass(),
+			"assets/test.txt": "hello".bytes
+		], ".jar")
+		def cache = new ClasspathStubCache(tempDir, RULES)
+
+		when:
+		def stub = cache.getStub(jar)
+		def bytes = ZipUtils.unpack(stub, "test/Example.class")
+		def node = new ClassNode()
+		new ClassReader(bytes).accept(node, 0)
+		def verifyOutput = new StringWriter()
+		CheckClassAdapter.verify(new ClassReader(bytes), false, new PrintWriter(verifyOutput))
+
+		then:
+		stub != jar
+		node.superName == "java/lang/Object"
+		node.fields*.name == ["value"]
+		node.methods*.name == ["<init>", "run", "load"]
+		node.methods.findAll { it.name != "load" }.every { it.instructions*.opcode == [Opcodes.ACONST_NULL, Opcodes.ATHROW] }
+		node.methods.find { it.name == "load" }.instructions.size() == 0
+		// The stub must still be a valid class
+		verifyOutput.toString().isEmpty()
+		!ZipUtils.contains(stub, "assets/test.txt")
+	}
+
+	def "reuses stub for same jar"() {
+		given:
+		def jar = ZipTestUtils.createZipFromBytes(["test/Example.class": createClass()], ".jar")
+		def cache = new ClasspathStubCache(tempDir, RULES)
+
+		when:
+		def first = cache.getStub(jar)
+		// Replace the stub contents, to check that the second lookup does not recreate it
+		first.bytes = "stub".bytes
+		def second = cache.getStub(jar)
+
+		then:
+		first == second
+		second.bytes == "stub".bytes
+	}
+
+	def "prune deletes old and least recently used stubs"() {
+		given:
+		def cache = new ClasspathStubCache(tempDir, RULES)
+		def stubs = (0..3).collect {
+			cache.getStub(ZipTestUtils.createZipFromBytes([("test/Example${it}.class" as String): createClass()], ".jar"))
+		}
+
+		// The first stub is too old, and the second is the least recently used over the max number of files
+		Files.setLastModifiedTime(stubs[0], FileTime.from(Instant.now() - Duration.ofDays(31)))
+		Files.setLastModifiedTime(stubs[1], FileTime.from(Instant.now() - Duration.ofDays(2)))
+		Files.setLastModifiedTime(stubs[2], FileTime.from(Instant.now() - Duration.ofDays(1)))
+
+		when:
+		cache.prune()
+
+		then:
+		stubs.collect { Files.exists(it) } == [false, false, true, true]
+	}
+
+	def "directories are not stubbed"() {
+		given:
+		def cache = new ClasspathStubCache(tempDir.resolve("cache"), RULES)
+
+		expect:
+		cache.getStub(tempDir) == tempDir
+	}
+
+	private static byte[] createClass() {
+		def writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS)
+		writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "test/Example", null, "java/lang/Object", null)
+		writer.visitField(Opcodes.ACC_PRIVATE, "value", "I", null, null).visitEnd()
+
+		MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null)
+		init.visitCode()
+		init.visitVarInsn(Opcodes.ALOAD, 0)
+		init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false)
+		init.visitInsn(Opcodes.RETURN)
+		init.visitMaxs(0, 0)
+		init.visitEnd()
+
+		MethodVisitor run = writer.visitMethod(Opcodes.ACC_PUBLIC, "run", "()I", null, null)
+		run.visitCode()
+		run.visitInsn(Opcodes.ICONST_1)
+		run.visitInsn(Opcodes.IRETURN)
+		run.visitMaxs(0, 0)
+		run.visitEnd()
+
+		writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_NATIVE, "load", "()V", null, null).visitEnd()
+
+		writer.visitEnd()
+		return writer.toByteArray()
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit
+
+import java.nio.file.Path
+import java.util.zip.ZipFile
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.decompilers.DecompileShards
+import net.fabricmc.loom.test.util.ZipTestUtils
+import net.fabricmc.loom.util.ZipUtils
+
+class DecompileShardsTest extends Specification {
+	@TempDir
+	Path tempDir
+
+	def "split keeps inner classes with their outer class"() {
+		given:
+		def input = ZipTestUtils.createZip([
+			"a/A.class": "aaaa",
+			"a/A\$Inner.class": "aaaa",
+			"a/A\$Inner\$Nested.class": "aaaa",
+			"b/B.class": "bbbbbbbbbbbb",
+			"c/C.class": "c",
+			"META-INF/MANIFEST.MF": "Manifest-Version: 1.0",
+		], ".jar")
+
+		when:
+		def shards = DecompileShards.split(input, tempDir, 2)
+
+		then:
+		shards.size() == 2
+		entries(shards[0]) == ["META-INF/MANIFEST.MF", "a/A.class", "a/A\$Inner.class", "a/A\$Inner\$Nested.class", "c/C.class"] as Set
+		entries(shards[1]) == ["b/B.class"] as Set
+	}
+
+	def "split into more shards than classes"() {
+		given:
+		def input = ZipTestUtils.createZip(["a/A.class": "a", "a/A\$1.class": "a"], ".jar")
+
+		when:
+		def shards = DecompileShards.split(input, tempDir, 8)
+
+		then:
+		shards.size() == 1
+		entries(shards[0]) == ["a/A.class", "a/A\$1.class"] as Set
+	}
+
+	def "merge is sorted"() {
+		given:
+		def first = ZipTestUtils.createZip(["b/B.java": "b", "META-INF/MANIFEST.MF": "Manifest-Version: 1.0"], ".jar")
+		def second = ZipTestUtils.createZip(["a/A.java": "a"], ".jar")
+		def output = tempDir.resolve("output.jar")
+
+		when:
+		DecompileShards.merge([first, second], output)
+
+		then:
+		ZipUtils.unpack(output, "a/A.java") == "a".bytes
+		ZipUtils.unpack(output, "b/B.java") == "b".bytes
+		new ZipFile(output.toFile()).withCloseable { zip -> zip.entries().findAll { !it.directory }.collect { it.name } } == ["META-INF/MANIFEST.MF", "a/A.java", "b/B.java"]
+	}
+
+	private static Set<String> entries(Path jar) {
+		return new ZipFile(jar.toFile()).withCloseable { zip -> zip.entries().findAll { !it.directory }.collect { it.name } as Set }
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.task.ExtractNativesTask
+import net.fabricmc.loom.test.util.ZipTestUtils
+
+class ExtractNativesTaskTest extends Specification {
+	private static final ExtractNativesTask.Linker LINK = { Path link, Path existing -> Files.createLink(link, existing) } as ExtractNativesTask.Linker
+	private static final ExtractNativesTask.Linker NO_LINK = { Path link, Path existing -> throw new UnsupportedOperationException() } as ExtractNativesTask.Linker
+
+	@TempDir
+	Path tempDir
+
+	def "links the natives and writes the manifest"() {
+		given:
+		def jar = createNativesJar()
+		def sharedDir = tempDir.resolve("shared")
+		def nativesDir = tempDir.resolve("natives")
+
+		when:
+		ExtractNativesTask.extractNatives([jar], sharedDir, nativesDir, LINK)
+		def sharedNatives = Files.list(sharedDir).findFirst().get()
+
+		then:
+		Files.isSameFile(nativesDir.resolve("liblwjgl.so"), sharedNatives.resolve("liblwjgl.so"))
+		Files.readString(nativesDir.resolve("macos/libglfw.dylib")) == "glfw"
+		Files.notExists(nativesDir.resolve("macos/libglfw.jnilib"))
+		Files.notExists(nativesDir.resolve("META-INF"))
+		Files.readAllLines(nativesDir.resolve(".loom-natives")).subList(1, 3) == ["liblwjgl.so", "macos/libglfw.dylib"]
+	}
+
+	def "copies the natives when links are not supported"() {
+		given:
+		def jar = createNativesJar()
+		def sharedDir = tempDir.resolve("shared")
+		def nativesDir = tempDir.resolve("natives")
+
+		when:
+		ExtractNativesTask.extractNatives([jar], sharedDir, nativesDir, NO_LINK)
+		def sharedNatives = Files.list(sharedDir).findFirst().get()
+
+		then:
+		Files.readString(nativesDir.resolve("liblwjgl.so")) == "lwjgl"
+		!Files.isSameFile(nativesDir.resolve("liblwjgl.so"), sharedNatives.resolve("liblwjgl.so"))
+		Files.readString(nativesDir.resolve("macos/libglfw.dylib")) == "glfw"
+	}
+
+	def "does not link again when up to date"() {
+		given:
+		def jar = createNativesJar()
+		def sharedDir = tempDir.resolve("shared")
+		def nativesDir = tempDir.resolve("natives")
+		ExtractNativesTask.extractNatives([jar], sharedDir, nativesDir, LINK)
+		def linked = 0
+
+		when:
+		ExtractNativesTask.extractNatives([jar], sharedDir, nativesDir, { Path link, Path existing -> linked++ } as ExtractNativesTask.Linker)
+
+		then:
+		linked == 0
+	}
+
+	def "restores missing natives when the manifest is up to date"() {
+		given:
+		def jar = createNativesJar()
+		def sharedDir = tempDir.resolve("shared")
+		def nativesDir = tempDir.resolve("natives")
+		ExtractNativesTask.extractNatives([jar], sharedDir, nativesDir, LINK)
+		Files.delete(nativesDir.resolve("liblwjgl.so"))
+
+		when:
+		ExtractNativesTask.extractNatives([jar], sharedDir, nativesDir, LINK)
+
+		then:
+		Files.readString(nativesDir.resolve("liblwjgl.so")) == "lwjgl"
+	}
+
+	def "relinks when the natives change"() {
+		given:
+		def sharedDir = tempDir.resolve("shared")
+		def nativesDir = tempDir.resolve("natives")
+		ExtractNativesTask.extractNatives([createNativesJar()], sharedDir, nativesDir, LINK)
+		def jar = ZipTestUtils.createZip(["liblwjgl.so": "lwjgl2"], ".jar")
+
+		when:
+		ExtractNativesTask.extractNatives([jar], sharedDir, nativesDir, LINK)
+
+		then:
+		Files.readString(nativesDir.resolve("liblwjgl.so")) == "lwjgl2"
+		Files.notExists(nativesDir.resolve("macos/libglfw.dylib"))
+		Files.list(sharedDir).count() == 2
+	}
+
+	private static Path createNativesJar() {
+		return ZipTestUtils.createZip([
+			"liblwjgl.so": "lwjgl",
+			"macos/libglfw.jnilib": "glfw",
+			"META-INF/MANIFEST.MF": ZipTestUtils.manifest("Manifest-Version", "1.0")
+		], ".jar")
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import net.fabricmc.loom.util.MemoryBudget
+
+class MemoryBudgetTest extends Specification {
+	def "acquire and release"() {
+		given:
+		def budget = new MemoryBudget(100)
+
+		when:
+		def lease = budget.acquire("test", 60)
+
+		then:
+		budget.reservedBytes == 60
+
+		when:
+		lease.close()
+		lease.close()
+
+		then:
+		budget.reservedBytes == 0
+	}
+
+	@Timeout(10)
+	def "waits for the budget"() {
+		given:
+		def budget = new MemoryBudget(100)
+		def lease = budget.acquire("first", 60)
+
+		when:
+		def second = CompletableFuture.supplyAsync { budget.acquire("second", 60) }
+		Thread.sleep(200)
+
+		then:
+		!second.done
+
+		when:
+		lease.close()
+		def secondLease = second.get(5, TimeUnit.SECONDS)
+
+		then:
+		budget.reservedBytes == 60
+
+		cleanup:
+		secondLease?.close()
+	}
+
+	def "oversized request runs alone"() {
+		given:
+		def budget = new MemoryBudget(100)
+
+		when:
+		def lease = budget.acquire("test", 500)
+
+		then:
+		budget.reservedBytes == 500
+
+		cleanup:
+		lease.close()
+	}
+
+	def "threads"() {
+		given:
+		def budget = new MemoryBudget(100)
+
+		expect:
+		budget.threads(1000) == 1
+		budget.threads(1) >= 1
+		budget.threads(1) <= Runtime.runtime.availableProcessors()
+	}
+}
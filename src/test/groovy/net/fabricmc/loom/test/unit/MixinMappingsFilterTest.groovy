@@ -0,0 +1,100 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.build.mixin.MixinMappingsFilter
+
+class MixinMappingsFilterTest extends Specification {
+	@TempDir
+	Path tempDir
+
+	def "keeps referenced classes and their hierarchy"() {
+		given:
+		def mappings = tempDir.resolve("mappings.tiny")
+		Files.writeString(mappings, MAPPINGS)
+		def output = tempDir.resolve("filtered.tiny")
+		def hierarchy = [
+			"net/minecraft/entity/player/PlayerEntity": ["net/minecraft/entity/LivingEntity"],
+			"net/minecraft/entity/LivingEntity": ["net/minecraft/entity/Entity"],
+		]
+
+		when:
+		MixinMappingsFilter.filter(mappings, ["PlayerEntity", "Inject"] as Set, hierarchy, output)
+		def filtered = Files.readString(output)
+
+		then:
+		filtered.contains("net/minecraft/entity/player/PlayerEntity")
+		filtered.contains("net/minecraft/entity/LivingEntity")
+		filtered.contains("net/minecraft/entity/Entity")
+		// Used in a method descriptor of a kept class
+		filtered.contains("net/minecraft/world/World")
+		filtered.contains("method_1")
+		!filtered.contains("net/minecraft/block/Block")
+	}
+
+	def "detects mixin sources"() {
+		expect:
+		MixinMappingsFilter.isMixinSource(source) == mixin
+
+		where:
+		source                                                                                  | mixin
+		"import org.spongepowered.asm.mixin.Mixin;\n@Mixin(PlayerEntity.class)\nclass A {}"       | true
+		"@org.spongepowered.asm.mixin.Mixin(PlayerEntity.class)\nclass A {}"                     | true
+		"@org.spongepowered.asm.mixin\n\t.Mixin(PlayerEntity.class)\nclass A {}"                  | true
+		"import org.spongepowered.asm.mixin.Mixin as M\n@M(PlayerEntity::class)\nclass A"          | true
+		"import org.spongepowered.asm.mixin.*;\n@Mixin(PlayerEntity.class)\nclass A {}"          | true
+		"class PlayerHelper {\n\tvoid tick(PlayerEntity player) {}\n}"                           | false
+	}
+
+	def "collects names from fully qualified mixins"() {
+		given:
+		def source = tempDir.resolve("ExampleMixin.java")
+		Files.writeString(source, "@org.spongepowered.asm.mixin.Mixin(PlayerEntity.class)\nabstract class ExampleMixin {}\n")
+		def other = tempDir.resolve("Other.java")
+		Files.writeString(other, "class Other { World world; }\n")
+
+		when:
+		def names = MixinMappingsFilter.collectNames([source.toFile(), other.toFile()])
+
+		then:
+		names.contains("PlayerEntity")
+		!names.contains("World")
+	}
+
+	private static final String MAPPINGS = """tiny\t2\t0\tintermediary\tnamed
+c\tclass_1\tnet/minecraft/entity/Entity
+c\tclass_2\tnet/minecraft/entity/LivingEntity
+c\tclass_3\tnet/minecraft/entity/player/PlayerEntity
+\tm\t(Lclass_4;)V\tmethod_1\ttick
+c\tclass_4\tnet/minecraft/world/World
+c\tclass_5\tnet/minecraft/block/Block
+"""
+}
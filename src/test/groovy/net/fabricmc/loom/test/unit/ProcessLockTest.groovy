@@ -0,0 +1,150 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit
+
+import java.nio.file.Path
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Timeout
+
+import net.fabricmc.loom.test.unit.lock.ProcessLockHolder
+import net.fabricmc.loom.util.ProcessLock
+
+@Timeout(60)
+class ProcessLockTest extends Specification {
+	// Must be a local filesystem, file locks are not reliable on network filesystems.
+	@TempDir
+	Path tempDir
+
+	def "acquire and release"() {
+		given:
+		def file = tempDir.resolve("test.lock")
+
+		when:
+		def first = acquire(file)
+		first.close()
+		def second = acquire(file)
+		second.close()
+
+		then:
+		first.result() == ProcessLock.Result.ACQUIRED_CLEAN
+		second.result() == ProcessLock.Result.ACQUIRED_CLEAN
+		file.text.isEmpty()
+	}
+
+	def "disowned lock"() {
+		given:
+		def file = tempDir.resolve("test.lock")
+
+		when:
+		acquire(file).disown()
+		def lock = acquire(file)
+		lock.close()
+
+		then:
+		lock.result() == ProcessLock.Result.ACQUIRED_PREVIOUS_OWNER_DISOWNED
+	}
+
+	def "stale owner"() {
+		given:
+		def file = tempDir.resolve("test.lock")
+		file.text = "12345"
+
+		when:
+		def lock = acquire(file)
+		lock.close()
+
+		then:
+		lock.result() == ProcessLock.Result.ACQUIRED_PREVIOUS_OWNER_MISSING
+	}
+
+	def "waits for lock held by another process"() {
+		given:
+		def file = tempDir.resolve("test.lock")
+		def process = startHolder(file)
+
+		when:
+		def future = CompletableFuture.supplyAsync { acquire(file) }
+		Thread.sleep(500)
+		def acquiredEarly = future.isDone()
+		// The owner pid must be readable while the lock is held, file locks are mandatory on Windows
+		def owner = file.text
+
+		process.outputStream.write("\n".bytes)
+		process.outputStream.flush()
+
+		def lock = future.get(30, TimeUnit.SECONDS)
+		lock.close()
+
+		then:
+		!acquiredEarly
+		owner == process.pid().toString()
+		lock.result() == ProcessLock.Result.ACQUIRED_CLEAN
+		process.waitFor(30, TimeUnit.SECONDS)
+		process.exitValue() == 0
+	}
+
+	def "other process terminated without releasing"() {
+		given:
+		def file = tempDir.resolve("test.lock")
+		def process = startHolder(file, "crash")
+
+		when:
+		process.outputStream.write("\n".bytes)
+		process.outputStream.flush()
+		process.waitFor(30, TimeUnit.SECONDS)
+
+		def lock = acquire(file)
+		lock.close()
+
+		then:
+		lock.result() == ProcessLock.Result.ACQUIRED_PREVIOUS_OWNER_MISSING
+	}
+
+	private static ProcessLock acquire(Path file) {
+		return ProcessLock.acquire(file, "test", Duration.ofSeconds(30)) { }
+	}
+
+	private static Process startHolder(Path file, String... args) {
+		def java = Path.of(System.getProperty("java.home"), "bin", "java").toString()
+		def command = [java, "-cp", System.getProperty("java.class.path"), ProcessLockHolder.name, file.toString()] + args.toList()
+		def process = new ProcessBuilder(command).redirectErrorStream(true).start()
+
+		// Wait for the lock to be acquired by the other process
+		def reader = new BufferedReader(new InputStreamReader(process.inputStream))
+		def line
+
+		while ((line = reader.readLine()) != null && line != "locked") {
+			println line
+		}
+
+		assert line == "locked"
+		return process
+	}
+}
@@ -68,6 +68,14 @@ class ValidateMixinNameTest extends Specification {
 		mixin == null
 	}
 
+	def "Constant pool pre-check"() {
+		expect:
+		ValidateMixinNameTask.mayBeMixin(getInput(TestMixin.class).bytes)
+		ValidateMixinNameTask.mayBeMixin(getInput(TestAccessor.class).bytes)
+		!ValidateMixinNameTask.mayBeMixin(getInput(Test.class).bytes)
+		!ValidateMixinNameTask.mayBeMixin(getInput(Test.Inner.class).bytes)
+	}
+
 	static ValidateMixinNameTask.Mixin getMixin(Class<?> clazz) {
 		return getInput(clazz).withCloseable {
 			return ValidateMixinNameTask.getMixin(it)
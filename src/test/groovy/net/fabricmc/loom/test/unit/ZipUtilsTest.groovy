@@ -258,4 +258,25 @@ class ZipUtilsTest extends Specification {
 		ZipUtils.unpack(zip, "text.txt") == "hello world".bytes
 		Checksum.sha1Hex(zip) == "e699fa52a520553241aac798f72255ac0a912b05"
 	}
+
+	def "content equals"() {
+		given:
+		def zipA = Files.createTempFile("loom-zip-test", ".zip")
+		def zipB = Files.createTempFile("loom-zip-test", ".zip")
+		Files.delete(zipA)
+		Files.delete(zipB)
+		ZipUtils.add(zipA, "a.txt", "hello")
+		ZipUtils.add(zipA, "b.txt", "world")
+		// Add the entries in a different order
+		ZipUtils.add(zipB, "b.txt", "world")
+		ZipUtils.add(zipB, "a.txt", contentB)
+
+		expect:
+		ZipUtils.contentEquals(zipA, zipB) == equal
+
+		where:
+		contentB | equal
+		"hello"  | true
+		"hello!" | false
+	}
 }
@@ -35,6 +35,7 @@ import spock.lang.TempDir
 
 import net.fabricmc.loom.decompilers.cache.CachedFileStore
 import net.fabricmc.loom.decompilers.cache.CachedFileStoreImpl
+import net.fabricmc.loom.util.CacheRules
 import net.fabricmc.loom.util.FileSystemUtil
 
 class CachedFileStoreTest extends Specification {
@@ -55,7 +56,7 @@ class CachedFileStoreTest extends Specification {
 
 	def "putEntry"() {
 		given:
-		def cacheRules = new CachedFileStoreImpl.CacheRules(100, Duration.ofDays(7))
+		def cacheRules = new CacheRules(100, Duration.ofDays(7))
 		def store = new CachedFileStoreImpl(root, BYTE_ARRAY_SERIALIZER, cacheRules)
 		when:
 		store.putEntry("abc", "Hello world".bytes)
@@ -65,7 +66,7 @@ class CachedFileStoreTest extends Specification {
 
 	def "getEntry"() {
 		given:
-		def cacheRules = new CachedFileStoreImpl.CacheRules(100, Duration.ofDays(7))
+		def cacheRules = new CacheRules(100, Duration.ofDays(7))
 		def store = new CachedFileStoreImpl(root, BYTE_ARRAY_SERIALIZER, cacheRules)
 		when:
 		store.putEntry("abc", "Hello world".bytes)
@@ -78,7 +79,7 @@ class CachedFileStoreTest extends Specification {
 
 	def "pruneManyFiles"() {
 		given:
-		def cacheRules = new CachedFileStoreImpl.CacheRules(250, Duration.ofDays(7))
+		def cacheRules = new CacheRules(250, Duration.ofDays(7))
 		def store = new CachedFileStoreImpl(root, BYTE_ARRAY_SERIALIZER, cacheRules)
 		when:
 
@@ -99,7 +100,7 @@ class CachedFileStoreTest extends Specification {
 
 	def "pruneOldFiles"() {
 		given:
-		def cacheRules = new CachedFileStoreImpl.CacheRules(1000, Duration.ofSeconds(250))
+		def cacheRules = new CacheRules(1000, Duration.ofSeconds(250))
 		def store = new CachedFileStoreImpl(root, BYTE_ARRAY_SERIALIZER, cacheRules)
 		when:
 
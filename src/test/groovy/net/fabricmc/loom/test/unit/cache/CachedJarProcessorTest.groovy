@@ -39,6 +39,7 @@ import net.fabricmc.loom.decompilers.cache.CachedFileStore
 import net.fabricmc.loom.decompilers.cache.CachedFileStoreImpl
 import net.fabricmc.loom.decompilers.cache.CachedJarProcessor
 import net.fabricmc.loom.test.util.ZipTestUtils
+import net.fabricmc.loom.util.CacheRules
 import net.fabricmc.loom.util.ZipUtils
 
 class CachedJarProcessorTest extends Specification {
@@ -73,6 +74,51 @@ class CachedJarProcessorTest extends Specification {
 		workJob.outputNameMap().size() == 2
 
 		// Expect two calls looking for the existing entry in the cache
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
+		2 * cache.getEntry(_) >> null
+
+		0 * _ // Strict mock
+	}
+
+	def "retain classes of a full work job"() {
+		given:
+		def jar = ZipTestUtils.createZipFromBytes(jarEntries)
+		def cache = Mock(CachedFileStore)
+		def processor = new CachedJarProcessor(cache, "abc123")
+
+		when:
+		def workJob = processor.prepareJob(jar).job() as CachedJarProcessor.FullWorkJob
+		def retainedJob = processor.retainClasses(workJob, ["net/fabricmc/other/Test"] as Set)
+
+		then:
+		// The input jar is the incomplete jar of a full job, and must not be deleted
+		Files.exists(jar)
+		retainedJob instanceof CachedJarProcessor.PartialWorkJob
+		retainedJob.outputNameMap().keySet() == ["net/fabricmc/other/Test.java"] as Set
+		ZipUtils.contains(retainedJob.existingClasses(), "net/fabricmc/Example.class")
+
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
+		2 * cache.getEntry(_) >> null
+
+		0 * _ // Strict mock
+	}
+
+	def "retain missing classes of a full work job"() {
+		given:
+		def jar = ZipTestUtils.createZipFromBytes(jarEntries)
+		def cache = Mock(CachedFileStore)
+		def processor = new CachedJarProcessor(cache, "abc123")
+
+		when:
+		def workJob = processor.prepareJob(jar).job() as CachedJarProcessor.FullWorkJob
+		def retainedJob = processor.retainClasses(workJob, ["net/fabricmc/Missing"] as Set)
+
+		then:
+		// Nothing is cached, so the whole jar is still processed
+		Files.exists(jar)
+		retainedJob == workJob
+
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
 		2 * cache.getEntry(_) >> null
 
 		0 * _ // Strict mock
@@ -99,6 +145,7 @@ class CachedJarProcessorTest extends Specification {
 
 		// Provide one cached entry
 		// And then one call not finding the entry in the cache
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
 		1 * cache.getEntry(ExampleHash) >> ExampleCachedData
 		1 * cache.getEntry(_) >> null
 
@@ -127,6 +174,7 @@ class CachedJarProcessorTest extends Specification {
 
 		// Provide one cached entry
 		// And then two calls not finding the entry in the cache
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
 		1 * cache.getEntry(ExampleHash) >> ExampleCachedData
 		1 * cache.getEntry(TestHash) >> TestCachedData
 
@@ -163,10 +211,12 @@ class CachedJarProcessorTest extends Specification {
 		ZipUtils.unpackNullable(outputJar, "net/fabricmc/other/Test.java") == "Test sources".bytes
 
 		// Expect two calls looking for the existingSources entry in the cache
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
 		1 * cache.getEntry(ExampleHash) >> null
 		1 * cache.getEntry(TestHash) >> null
 
-		// Expect the new work to be put into the cache
+		// Expect the new work to be put into the cache, in a single batch
+		1 * cache.putEntries(_) >> { Map<String, CachedData> entries -> putEntries(cache, entries) }
 		1 * cache.putEntry(ExampleHash, ExampleCachedData)
 		1 * cache.putEntry(TestHash, TestCachedData)
 
@@ -202,10 +252,12 @@ class CachedJarProcessorTest extends Specification {
 		ZipUtils.unpackNullable(outputJar, "net/fabricmc/other/Test.java") == "Test sources".bytes
 
 		// The cache already contains sources for example, but not for test
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
 		1 * cache.getEntry(ExampleHash) >> ExampleCachedData
 		1 * cache.getEntry(TestHash) >> null
 
-		// Expect the new work to be put into the cache
+		// Expect the new work to be put into the cache, in a single batch
+		1 * cache.putEntries(_) >> { Map<String, CachedData> entries -> putEntries(cache, entries) }
 		1 * cache.putEntry(TestHash, TestCachedData)
 
 		0 * _ // Strict mock
@@ -235,6 +287,7 @@ class CachedJarProcessorTest extends Specification {
 		ZipUtils.unpackNullable(outputJar, "net/fabricmc/other/Test.java") == "Test sources".bytes
 
 		// The cache already contains sources for example, but not for test
+		1 * cache.getEntries(_) >> { Collection<String> keys -> getEntries(cache, keys) }
 		1 * cache.getEntry(ExampleHash) >> ExampleCachedData
 		1 * cache.getEntry(TestHash) >> TestCachedData
 
@@ -261,7 +314,7 @@ class CachedJarProcessorTest extends Specification {
 				]
 				)
 
-		def cache = new CachedFileStoreImpl<>(testPath.resolve("cache"), CachedData.SERIALIZER, new CachedFileStoreImpl.CacheRules(50_000, Duration.ofDays(90)))
+		def cache = new CachedFileStoreImpl<>(testPath.resolve("cache"), CachedData.SERIALIZER, new CacheRules(50_000, Duration.ofDays(90)))
 		def processor = new CachedJarProcessor(cache, "abc123")
 
 		when:
@@ -303,4 +356,14 @@ class CachedJarProcessorTest extends Specification {
 		writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, superName, interfaces)
 		return writer.toByteArray()
 	}
+
+	// The processor looks up all the entries at once, answer each key through the single entry lookup
+	private static Map<String, CachedData> getEntries(CachedFileStore cache, Collection<String> keys) {
+		return keys.collectEntries { [(it): cache.getEntry(it)] }.findAll { it.value != null }
+	}
+
+	// Answer the batched put through the single entry put, as the default implementation does
+	private static void putEntries(CachedFileStore cache, Map<String, CachedData> entries) {
+		entries.each { key, value -> cache.putEntry(key, value) }
+	}
 }
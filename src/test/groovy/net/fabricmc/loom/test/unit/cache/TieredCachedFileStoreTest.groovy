@@ -0,0 +1,117 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit.cache
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.decompilers.cache.CachedFileStore
+import net.fabricmc.loom.decompilers.cache.SharedDirectoryCachedFileStore
+import net.fabricmc.loom.decompilers.cache.TieredCachedFileStore
+
+class TieredCachedFileStoreTest extends Specification {
+	@TempDir
+	Path testPath
+
+	def "read through to the shared store"() {
+		given:
+		def local = new SharedDirectoryCachedFileStore(testPath.resolve("local"), BYTE_ARRAY_SERIALIZER)
+		def shared = new SharedDirectoryCachedFileStore(testPath.resolve("shared"), BYTE_ARRAY_SERIALIZER)
+		def store = new TieredCachedFileStore(local, shared, false)
+		shared.putEntry("abc/def", "Hello world".bytes)
+
+		when:
+		def entries = store.getEntries(["abc/def", "123"])
+
+		then:
+		entries.keySet() == ["abc/def"] as Set
+		entries["abc/def"] == "Hello world".bytes
+		// The shared entry is copied into the local store
+		local.getEntry("abc/def") == "Hello world".bytes
+	}
+
+	def "put entries"() {
+		given:
+		def local = new SharedDirectoryCachedFileStore(testPath.resolve("local"), BYTE_ARRAY_SERIALIZER)
+		def shared = new SharedDirectoryCachedFileStore(testPath.resolve("shared"), BYTE_ARRAY_SERIALIZER)
+		def store = new TieredCachedFileStore(local, shared, writeShared)
+
+		when:
+		store.putEntry("abc", "Hello world".bytes)
+
+		then:
+		local.getEntry("abc") == "Hello world".bytes
+		(shared.getEntry("abc") != null) == writeShared
+
+		where:
+		writeShared << [true, false]
+	}
+
+	def "put several entries at once"() {
+		given:
+		def local = new SharedDirectoryCachedFileStore(testPath.resolve("local"), BYTE_ARRAY_SERIALIZER)
+		def shared = new SharedDirectoryCachedFileStore(testPath.resolve("shared"), BYTE_ARRAY_SERIALIZER)
+		def store = new TieredCachedFileStore(local, shared, true)
+
+		when:
+		store.putEntries(["abc": "Hello".bytes, "def": "world".bytes])
+
+		then:
+		shared.getEntries(["abc", "def"]).collectEntries { k, v -> [k, new String(v)] } == ["abc": "Hello", "def": "world"]
+		local.getEntry("def") == "world".bytes
+	}
+
+	def "stop writing to the shared store after a failure"() {
+		given:
+		def local = new SharedDirectoryCachedFileStore(testPath.resolve("local"), BYTE_ARRAY_SERIALIZER)
+		def shared = Mock(CachedFileStore)
+		def store = new TieredCachedFileStore(local, shared, true)
+
+		when:
+		store.putEntries(["abc": "Hello".bytes])
+		store.putEntries(["def": "world".bytes])
+
+		then:
+		1 * shared.putEntries(_) >> { throw new IOException("Server is down") }
+		0 * shared._
+		local.getEntry("abc") == "Hello".bytes
+		local.getEntry("def") == "world".bytes
+	}
+
+	private static CachedFileStore.EntrySerializer<byte[]> BYTE_ARRAY_SERIALIZER = new CachedFileStore.EntrySerializer<byte[]>() {
+		@Override
+		byte[] read(Path path) throws IOException {
+			return Files.readAllBytes(path)
+		}
+
+		@Override
+		void write(byte[] entry, Path path) throws IOException {
+			Files.write(path, entry)
+		}
+	}
+}
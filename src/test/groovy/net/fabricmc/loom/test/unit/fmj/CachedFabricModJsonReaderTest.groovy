@@ -0,0 +1,71 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit.fmj
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.test.util.ZipTestUtils
+import net.fabricmc.loom.util.fmj.CachedFabricModJsonReader
+
+class CachedFabricModJsonReaderTest extends Specification {
+	@TempDir
+	Path tempDir
+
+	def "read mods"() {
+		given:
+		def modJar = ZipTestUtils.createZip(["fabric.mod.json": '{"schemaVersion": 1, "id": "modid", "version": "1.0.0"}'], ".jar")
+		def libraryJar = ZipTestUtils.createZip(["test.txt": "hello"], ".jar")
+		def cacheDir = tempDir.resolve("cache")
+
+		when:
+		def mods = new CachedFabricModJsonReader(cacheDir).readAll([modJar, libraryJar])
+
+		then:
+		mods[modJar].get().id == "modid"
+		mods[libraryJar].isEmpty()
+		Files.list(cacheDir).count() == 2
+	}
+
+	def "read from cache"() {
+		given:
+		def modJar = ZipTestUtils.createZip(["fabric.mod.json": '{"schemaVersion": 1, "id": "modid", "version": "1.0.0"}'], ".jar")
+		def cacheDir = tempDir.resolve("cache")
+		new CachedFabricModJsonReader(cacheDir).read(modJar)
+
+		// Replace the cached json, to check that the jar is not read again.
+		def cached = Files.list(cacheDir).findFirst().get()
+		Files.writeString(cached, '{"schemaVersion": 1, "id": "cached", "version": "1.0.0"}')
+
+		when:
+		def mod = new CachedFabricModJsonReader(cacheDir).read(modJar)
+
+		then:
+		mod.get().id == "cached"
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit.forge
+
+import java.nio.file.Path
+import java.util.zip.Adler32
+
+import dev.architectury.loom.forge.BinaryPatcher
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.test.util.ZipTestUtils
+import net.fabricmc.loom.util.ZipUtils
+
+class BinaryPatcherTest extends Specification {
+	@TempDir
+	Path tempDir
+
+	def "apply patches"() {
+		given:
+		def clean = ZipTestUtils.createZip(["a/A.class": "hello", "a/Unpatched.class": "same", "data.txt": "data"], ".jar")
+		def patches = ZipTestUtils.createZipFromBytes([
+			"a/A.binpatch": patch("a.A", true, checksum("hello"), gdiff(copy(0, 5), data("!!!"))),
+			"b/B.binpatch": patch("b.B", false, 0, gdiff(data("new"))),
+		], ".jar")
+		def output = tempDir.resolve("output.jar")
+
+		when:
+		def options = BinaryPatcher.Options.parse(["--clean", "{clean}", "--output", "{output}", "--apply", "{patch}"])
+		BinaryPatcher.load(patches, tempDir.resolve("cache")).apply(clean, output, options)
+
+		then:
+		new String(ZipUtils.unpack(output, "a/A.class")) == "hello!!!"
+		new String(ZipUtils.unpack(output, "b/B.class")) == "new"
+		// Only the patched classes are written without --unpatched and --data
+		!ZipUtils.contains(output, "a/Unpatched.class")
+		!ZipUtils.contains(output, "data.txt")
+	}
+
+	def "checksum mismatch"() {
+		given:
+		def clean = ZipTestUtils.createZip(["a/A.class": "changed"], ".jar")
+		def patches = ZipTestUtils.createZipFromBytes([
+			"a/A.binpatch": patch("a.A", true, checksum("hello"), gdiff(copy(0, 5))),
+		], ".jar")
+
+		when:
+		BinaryPatcher.load(patches, tempDir.resolve("cache")).apply(clean, tempDir.resolve("output.jar"), new BinaryPatcher.Options(false, false))
+
+		then:
+		thrown(IOException)
+	}
+
+	def "unsupported arguments"() {
+		expect:
+		BinaryPatcher.Options.parse(["--clean", "{clean}", "--output", "{output}", "--apply", "{patch}", "--data", "--unpatched"]) == new BinaryPatcher.Options(true, true)
+		BinaryPatcher.Options.parse(["--create", "{clean}"]) == null
+	}
+
+	private static byte[] patch(String name, boolean exists, int checksum, byte[] data) {
+		def bytes = new ByteArrayOutputStream()
+		def out = new DataOutputStream(bytes)
+		out.writeByte(1)
+		out.writeUTF(name)
+		out.writeUTF(name)
+		out.writeBoolean(exists)
+
+		if (exists) {
+			out.writeInt(checksum)
+		}
+
+		out.writeInt(data.length)
+		out.write(data)
+		return bytes.toByteArray()
+	}
+
+	private static byte[] gdiff(byte[]... commands) {
+		def bytes = new ByteArrayOutputStream()
+		def out = new DataOutputStream(bytes)
+		out.writeInt(0xD1FFD1FF)
+		out.writeByte(4)
+		commands.each { out.write(it) }
+		out.writeByte(0)
+		return bytes.toByteArray()
+	}
+
+	private static byte[] copy(int offset, int length) {
+		def bytes = new ByteArrayOutputStream()
+		def out = new DataOutputStream(bytes)
+		out.writeByte(249)
+		out.writeShort(offset)
+		out.writeByte(length)
+		return bytes.toByteArray()
+	}
+
+	private static byte[] data(String data) {
+		return [data.length() as byte] + data.bytes.toList() as byte[]
+	}
+
+	private static int checksum(String data) {
+		def adler32 = new Adler32()
+		adler32.update(data.bytes)
+		return (int) adler32.value
+	}
+}
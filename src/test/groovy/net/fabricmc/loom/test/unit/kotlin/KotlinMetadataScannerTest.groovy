@@ -0,0 +1,76 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit.kotlin
+
+import java.nio.file.Path
+
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.util.ZipUtils
+import net.fabricmc.loom.util.kotlin.KotlinMetadataScanner
+
+class KotlinMetadataScannerTest extends Specification {
+	@TempDir
+	Path tempDir
+
+	def "kotlin class"() {
+		expect:
+		KotlinMetadataScanner.mayHaveKotlinMetadata(getClassBytes("TestExtensionKt"))
+	}
+
+	def "java class"() {
+		expect:
+		!KotlinMetadataScanner.mayHaveKotlinMetadata(javaClass())
+	}
+
+	def "scan jar"() {
+		given:
+		def jar = tempDir.resolve("test.jar")
+		ZipUtils.add(jar, "net/fabricmc/Example.class", javaClass())
+
+		if (kotlin) {
+			ZipUtils.add(jar, "TestExtensionKt.class", getClassBytes("TestExtensionKt"))
+		}
+
+		expect:
+		KotlinMetadataScanner.containsKotlinClasses(jar) == kotlin
+
+		where:
+		kotlin << [true, false]
+	}
+
+	private static byte[] javaClass() {
+		def writer = new ClassWriter(0)
+		writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "net/fabricmc/Example", null, "java/lang/Object", null)
+		return writer.toByteArray()
+	}
+
+	private static byte[] getClassBytes(String name) {
+		return new File("src/test/resources/classes/${name}.class").bytes
+	}
+}
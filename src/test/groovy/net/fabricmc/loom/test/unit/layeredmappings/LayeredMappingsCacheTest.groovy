@@ -0,0 +1,132 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit.layeredmappings
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.time.Duration
+import java.time.Instant
+
+import groovy.transform.EqualsAndHashCode
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import net.fabricmc.loom.api.mappings.layered.MappingContext
+import net.fabricmc.loom.api.mappings.layered.MappingLayer
+import net.fabricmc.loom.api.mappings.layered.MappingsNamespace
+import net.fabricmc.loom.api.mappings.layered.spec.MappingsSpec
+import net.fabricmc.loom.configuration.providers.mappings.LayeredMappingSpec
+import net.fabricmc.loom.configuration.providers.mappings.LayeredMappingsProcessor
+import net.fabricmc.mappingio.MappingReader
+import net.fabricmc.mappingio.MappingVisitor
+import net.fabricmc.mappingio.tree.MemoryMappingTree
+
+class LayeredMappingsCacheTest extends Specification {
+	static Map<String, Integer> visits = [:]
+
+	@TempDir
+	Path tempDir
+
+	def setup() {
+		visits.clear()
+	}
+
+	def "reuses cached lower layers"() {
+		given:
+		def cacheDir = tempDir.resolve("cache")
+		def base = new TestSpec("base", "tiny\t2\t0\tintermediary\tnamed\nc\tclass_1\tFoo\n", MappingsNamespace.INTERMEDIARY)
+		def first = new TestSpec("top", "tiny\t2\t0\tnamed\tnamed2\nc\tFoo\tBar\n", MappingsNamespace.NAMED)
+		def second = new TestSpec("top2", "tiny\t2\t0\tnamed\tnamed2\nc\tFoo\tBaz\n", MappingsNamespace.NAMED)
+
+		when:
+		def firstTree = merge(cacheDir, base, first)
+		def secondTree = merge(cacheDir, base, second)
+		def uncachedTree = merge(null, base, second)
+
+		then:
+		visits["base"] == 2
+		visits["top"] == 1
+		visits["top2"] == 2
+		Files.list(cacheDir).count() == 1
+
+		firstTree.getClass("Foo").getDstName(firstTree.getNamespaceId("named2")) == "Bar"
+		secondTree.getClass("Foo").getDstName(secondTree.getNamespaceId("named2")) == "Baz"
+		secondTree.getClass("Foo").getDstName(secondTree.getNamespaceId("intermediary")) == "class_1"
+		uncachedTree.getClass("Foo").getDstName(uncachedTree.getNamespaceId("intermediary")) == "class_1"
+	}
+
+	def "prunes old cached layers"() {
+		given:
+		def cacheDir = tempDir.resolve("cache")
+		def stale = cacheDir.resolve("stale.tiny")
+		Files.createDirectories(cacheDir)
+		Files.writeString(stale, "tiny\t2\t0\tintermediary\tnamed\n")
+		Files.setLastModifiedTime(stale, FileTime.from(Instant.now() - Duration.ofDays(31)))
+		def base = new TestSpec("base", "tiny\t2\t0\tintermediary\tnamed\nc\tclass_1\tFoo\n", MappingsNamespace.INTERMEDIARY)
+		def top = new TestSpec("top", "tiny\t2\t0\tnamed\tnamed2\nc\tFoo\tBar\n", MappingsNamespace.NAMED)
+
+		when:
+		merge(cacheDir, base, top)
+
+		then:
+		!Files.exists(stale)
+		Files.list(cacheDir).count() == 1
+	}
+
+	private MemoryMappingTree merge(Path cacheDir, MappingsSpec<?>... specs) {
+		def processor = new LayeredMappingsProcessor(new LayeredMappingSpec(specs.toList()), false, cacheDir)
+		return processor.getMappings(processor.resolveLayers(Mock(MappingContext)))
+	}
+
+	@EqualsAndHashCode
+	static class TestSpec implements MappingsSpec<MappingLayer> {
+		final String name
+		final String tiny
+		final MappingsNamespace sourceNamespace
+
+		TestSpec(String name, String tiny, MappingsNamespace sourceNamespace) {
+			this.name = name
+			this.tiny = tiny
+			this.sourceNamespace = sourceNamespace
+		}
+
+		@Override
+		MappingLayer createLayer(MappingContext context) {
+			return new MappingLayer() {
+				@Override
+				void visit(MappingVisitor mappingVisitor) throws IOException {
+					visits[name] = visits.getOrDefault(name, 0) + 1
+					MappingReader.read(new StringReader(tiny), mappingVisitor)
+				}
+
+				@Override
+				MappingsNamespace getSourceNamespace() {
+					return sourceNamespace
+				}
+			}
+		}
+	}
+}
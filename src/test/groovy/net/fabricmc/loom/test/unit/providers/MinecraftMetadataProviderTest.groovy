@@ -31,6 +31,7 @@ import org.intellij.lang.annotations.Language
 
 import net.fabricmc.loom.configuration.providers.minecraft.ManifestLocations
 import net.fabricmc.loom.configuration.providers.minecraft.MinecraftMetadataProvider
+import net.fabricmc.loom.configuration.providers.minecraft.VersionsManifestIndex
 import net.fabricmc.loom.test.LoomTestConstants
 import net.fabricmc.loom.test.unit.download.DownloadTest
 import net.fabricmc.loom.util.download.Download
@@ -72,8 +73,11 @@ class MinecraftMetadataProviderTest extends DownloadTest {
 	def "Force download with new version"() {
 		setup:
 		int calls = 0
+		int manifestCalls = 0
 		server.get("/versionManifest") {
-			it.result(calls == 0 ? VERSION_MANIFEST_1 : VERSION_MANIFEST_2)
+			// The manifests are fetched concurrently, so only count the calls to this manifest
+			it.result(manifestCalls == 0 ? VERSION_MANIFEST_1 : VERSION_MANIFEST_2)
+			manifestCalls++
 			calls++
 		}
 		server.get("/experimentalVersionManifest") {
@@ -124,6 +128,42 @@ class MinecraftMetadataProviderTest extends DownloadTest {
 		meta.id() == "2.0.0"
 	}
 
+	def "Prebuilt index"() {
+		setup:
+		int calls = 0
+		server.get("/versionManifest") {
+			it.result(VERSION_MANIFEST_1)
+			calls++
+		}
+		server.get("/customManifest") {
+			it.result('{"id": "2.0.0"}')
+		}
+		def index = testDir.resolve("versions.index")
+		Files.writeString(index, "loom-versions-index-v1\tprebuilt\n2.0.0\t$PATH/customManifest\t\n")
+
+		when:
+		def meta = provider("2.0.0", null, index).getVersionMeta()
+
+		then:
+		meta.id() == "2.0.0"
+		calls == 0
+	}
+
+	def "Index is reused"() {
+		setup:
+		server.get("/versionManifest") {
+			it.result(VERSION_MANIFEST_1)
+		}
+
+		when:
+		provider("1.20.1").getVersionMeta()
+		def index = VersionsManifestIndex.read(testDir.resolve("versions_manifest.json.index"))
+
+		then:
+		index.getVersion("1.20.1").sha1 == "715ccf3330885e75b205124f09f8712542cbe7e0"
+		index.getVersion("1.20.1-rc1") == null
+	}
+
 	def "Get unknown"() {
 		setup:
 		int calls = 0
@@ -145,14 +185,14 @@ class MinecraftMetadataProviderTest extends DownloadTest {
 		calls == 4
 	}
 
-	private MinecraftMetadataProvider provider(String version, String customUrl = null) {
+	private MinecraftMetadataProvider provider(String version, String customUrl = null, Path index = null) {
 		return new MinecraftMetadataProvider(
-				options(version, customUrl),
+				options(version, customUrl, index),
 				Download.&create
 				)
 	}
 
-	private MinecraftMetadataProvider.Options options(String version, String customUrl) {
+	private MinecraftMetadataProvider.Options options(String version, String customUrl, Path index) {
 		ManifestLocations manifests = new ManifestLocations("versions_manifest")
 		manifests.addBuiltIn(0, "$PATH/versionManifest", "versions_manifest")
 		manifests.addBuiltIn(1, "$PATH/experimentalVersionManifest", "experimental_versions_manifest")
@@ -162,7 +202,8 @@ class MinecraftMetadataProviderTest extends DownloadTest {
 				manifests,
 				customUrl,
 				testDir,
-				testDir
+				testDir,
+				index
 				)
 	}
 
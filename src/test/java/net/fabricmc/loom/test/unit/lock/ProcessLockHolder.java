@@ -0,0 +1,54 @@
+/*
+ * This file is part of fabric-loom, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2024 FabricMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.fabricmc.loom.test.unit.lock;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import net.fabricmc.loom.util.ProcessLock;
+
+/**
+ * Holds a {@link ProcessLock} in a separate process, until a line is read from stdin.
+ */
+public class ProcessLockHolder {
+	public static void main(String[] args) throws Exception {
+		ProcessLock lock = ProcessLock.acquire(Path.of(args[0]), "test", Duration.ofMinutes(1), handle -> { });
+		System.out.println("locked");
+		System.out.flush();
+
+		new BufferedReader(new InputStreamReader(System.in)).readLine();
+
+		if (args.length > 1 && args[1].equals("crash")) {
+			// Exit without releasing the lock, leaving our pid behind
+			Runtime.getRuntime().halt(1);
+		}
+
+		lock.close();
+		System.out.println("released");
+		System.out.flush();
+	}
+}